@@ -0,0 +1,81 @@
+package de.feu.propra.benchmark;
+
+import de.feu.propra.petrinet.PetriNet;
+
+/**
+ * Builds the nets of increasing size the benchmarks run on.
+ * 
+ * @author j-hap 
+ *
+ */
+final class BenchmarkNets {
+  // prevents instances
+  private BenchmarkNets() {
+  }
+
+  /**
+   * Builds a ring of {@code Place}s p0 to pn-1, where ti moves the token from
+   * pi to the next {@code Place}. The single token starts at p0, so firing t0
+   * to tn-1 in order keeps every {@code Transition} enabled in its turn.
+   * 
+   * @param size The number of {@code Place}s and {@code Transition}s.
+   * @return The ring net.
+   */
+  static PetriNet ring(int size) {
+    var net = new PetriNet();
+    for (int i = 0; i < size; ++i) {
+      net.addPlace(placeId(i));
+      net.addTransition(transitionId(i));
+    }
+    for (int i = 0; i < size; ++i) {
+      net.addArc("in" + i, placeId(i), transitionId(i));
+      net.addArc("out" + i, transitionId(i), placeId((i + 1) % size));
+    }
+    net.setInitialTokens(placeId(0), 1);
+    return net;
+  }
+
+  /**
+   * Writes the same ring as {@link #ring(int)} as PNML.
+   * 
+   * @param size The number of {@code Place}s and {@code Transition}s.
+   * @return The PNML document.
+   */
+  static String ringPnml(int size) {
+    var sb = new StringBuilder();
+    sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<pnml>\n<net id=\"ring\" type=\"PTNet\">\n");
+    for (int i = 0; i < size; ++i) {
+      appendNode(sb, "place", placeId(i), i);
+      appendNode(sb, "transition", transitionId(i), i);
+    }
+    for (int i = 0; i < size; ++i) {
+      appendArc(sb, "in" + i, placeId(i), transitionId(i));
+      appendArc(sb, "out" + i, transitionId(i), placeId((i + 1) % size));
+    }
+    return sb.append("</net>\n</pnml>\n").toString();
+  }
+
+  private static void appendNode(StringBuilder sb, String element, String id, int index) {
+    sb.append('<').append(element).append(" id=\"").append(id).append("\">\n");
+    sb.append("<name><text>").append(id).append("</text></name>\n");
+    sb.append("<graphics><position x=\"").append(index * 50).append("\" y=\"0\"/></graphics>\n");
+    if (index == 0 && element.equals("place")) {
+      sb.append("<initialMarking><text>1</text></initialMarking>\n");
+    }
+    sb.append("</").append(element).append(">\n");
+  }
+
+  private static void appendArc(StringBuilder sb, String id, String source, String target) {
+    sb.append("<arc id=\"").append(id).append("\" source=\"").append(source).append("\" target=\"").append(target)
+        .append("\"/>\n");
+  }
+
+  // zero padded, so the alphabetical order of the ids is the ring order
+  private static String placeId(int i) {
+    return String.format("p%05d", i);
+  }
+
+  private static String transitionId(int i) {
+    return String.format("t%05d", i);
+  }
+}
@@ -0,0 +1,40 @@
+package de.feu.propra.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package with the GC profiler, so the allocation
+ * per operation ({@code gc.alloc.rate.norm}) is reported next to the
+ * throughput. The sources need jmh-core on the classpath and the
+ * jmh-generator-annprocess annotation processor at compile time.
+ * 
+ * @author j-hap 
+ *
+ */
+public final class BenchmarkRunner {
+  // prevents instances
+  private BenchmarkRunner() {
+  }
+
+  /**
+   * Runs all benchmarks of this package, or those selected by the usual JMH
+   * command line options, e.g. a regular expression of benchmark names.
+   * 
+   * @param args JMH command line options.
+   * @throws RunnerException            If a benchmark fails.
+   * @throws CommandLineOptionException If the options are invalid.
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    var commandLine = new CommandLineOptions(args);
+    var options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class);
+    if (commandLine.getIncludes().isEmpty()) {
+      options.include(BenchmarkRunner.class.getPackageName() + ".");
+    }
+    new Runner(options.build()).run();
+  }
+}
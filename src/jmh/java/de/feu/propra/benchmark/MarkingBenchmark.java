@@ -0,0 +1,78 @@
+package de.feu.propra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.feu.propra.reachability.Marking;
+
+/**
+ * Measures {@code Marking.hashCode} and {@code Marking.equals}. The hash code
+ * is computed by the constructor, so the construction is measured as well.
+ * 
+ * @author j-hap 
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkingBenchmark {
+  @Param({ "10", "100", "1000" })
+  int size;
+  int[] tokens;
+  Marking marking;
+  Marking equalMarking;
+  Marking lastDifferentMarking;
+
+  @Setup
+  public void setUp() {
+    tokens = new int[size];
+    for (int i = 0; i < size; ++i) {
+      tokens[i] = i % 3;
+    }
+    marking = new Marking(tokens);
+    equalMarking = new Marking(tokens);
+    // differs only in the last place, so equals compares all token counts
+    var different = tokens.clone();
+    ++different[size - 1];
+    lastDifferentMarking = new Marking(different);
+  }
+
+  @Benchmark
+  public Marking construct() {
+    return new Marking(tokens);
+  }
+
+  @Benchmark
+  public Marking wrap() {
+    return Marking.wrap(tokens);
+  }
+
+  @Benchmark
+  public int hashCodeOfMarking() {
+    return marking.hashCode();
+  }
+
+  @Benchmark
+  public boolean equalsEqual() {
+    return marking.equals(equalMarking);
+  }
+
+  @Benchmark
+  public boolean equalsDifferent() {
+    return marking.equals(lastDifferentMarking);
+  }
+}
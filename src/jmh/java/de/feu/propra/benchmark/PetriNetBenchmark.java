@@ -0,0 +1,63 @@
+package de.feu.propra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.petrinet.Transition;
+import de.feu.propra.reachability.Marking;
+
+/**
+ * Measures {@code PetriNet.getMarking} and {@code Transition.trigger} on ring
+ * nets of increasing size.
+ * 
+ * @author j-hap 
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetriNetBenchmark {
+  @Param({ "10", "100", "1000" })
+  int size;
+  PetriNet net;
+  Transition[] ring;
+  int next;
+
+  @Setup
+  public void setUp() {
+    net = BenchmarkNets.ring(size);
+    // the ids are zero padded, so the sorted transitions are in ring order
+    ring = net.nodes().stream().filter(Transition.class::isInstance).map(Transition.class::cast)
+        .sorted((a, b) -> a.getId().compareTo(b.getId())).toArray(Transition[]::new);
+    next = 0;
+  }
+
+  @Benchmark
+  public Marking getMarking() {
+    return net.getMarking();
+  }
+
+  // fires the transitions in ring order, so each one is enabled in its turn
+  @Benchmark
+  public Transition trigger() {
+    var t = ring[next];
+    t.trigger();
+    next = next + 1 == size ? 0 : next + 1;
+    return t;
+  }
+}
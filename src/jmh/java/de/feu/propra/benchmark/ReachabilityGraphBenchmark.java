@@ -0,0 +1,80 @@
+package de.feu.propra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.reachability.Marking;
+import de.feu.propra.reachability.ReachabilityGraph;
+
+/**
+ * Measures {@code ReachabilityGraph.addMarking} with markings of increasing
+ * size. The markings form a cycle, so the first round adds nodes and edges and
+ * the following ones only look them up, as an exploration that revisits
+ * markings does.
+ * 
+ * @author j-hap 
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReachabilityGraphBenchmark {
+  // the number of markings on the cycle
+  private static final int CYCLE_LENGTH = 4096;
+  @Param({ "10", "100", "1000" })
+  int size;
+  PetriNet net;
+  ReachabilityGraph graph;
+  Marking[] cycle;
+  String[] edgeIds;
+  int next;
+
+  @Setup
+  public void setUp() {
+    net = BenchmarkNets.ring(size);
+    cycle = new Marking[CYCLE_LENGTH];
+    edgeIds = new String[CYCLE_LENGTH];
+    cycle[0] = net.getMarking();
+    for (int i = 1; i < CYCLE_LENGTH; ++i) {
+      var tokens = new int[size];
+      tokens[i % size] = i;
+      cycle[i] = Marking.wrap(tokens);
+    }
+    for (int i = 0; i < CYCLE_LENGTH; ++i) {
+      edgeIds[i] = "t" + i;
+    }
+  }
+
+  // every iteration starts with an empty graph
+  @Setup(Level.Iteration)
+  public void clearGraph() {
+    graph = net.getReachabilityGraph();
+    graph.init();
+    next = 0;
+  }
+
+  // the unboundedness check searches the predecessors and is not measured
+  @Benchmark
+  public ReachabilityGraph addMarking() {
+    var following = next + 1 == CYCLE_LENGTH ? 0 : next + 1;
+    graph.addMarking(edgeIds[next], edgeIds[next], cycle[next], cycle[following], false);
+    next = following;
+    return graph;
+  }
+}
@@ -0,0 +1,61 @@
+package de.feu.propra.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.util.SimplePnmlParser;
+
+/**
+ * Measures how fast the {@code SimplePnmlParser} loads PNML files of
+ * increasing size into a new {@code PetriNet}. The file is in the page cache
+ * after the warmup, so this is the parsing and the construction of the net.
+ * 
+ * @author j-hap 
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimplePnmlParserBenchmark {
+  @Param({ "10", "100", "1000" })
+  int size;
+  File file;
+
+  @Setup
+  public void setUp() throws IOException {
+    var path = Files.createTempFile("ring" + size, ".pnml");
+    Files.writeString(path, BenchmarkNets.ringPnml(size));
+    file = path.toFile();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file.toPath());
+  }
+
+  @Benchmark
+  public PetriNet loadFile() {
+    var net = new PetriNet();
+    new SimplePnmlParser(file, net).loadFile();
+    return net;
+  }
+}
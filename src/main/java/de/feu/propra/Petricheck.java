@@ -60,6 +60,7 @@ public final class Petricheck  {
   private static void createAndShowGui() {
     // no net loaded by default, so no graph actions
     MainViewAction.disableGraphActions();
+    MainViewAction.CANCEL.setEnabled(false);
     var mainView = new MainView("j-hap ");
     var mainController = new MainController(mainView);
     MainViewAction.setActionListener(mainController);
@@ -0,0 +1,297 @@
+package de.feu.propra;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import de.feu.propra.solver.BatchSolver;
+import de.feu.propra.solver.BoundednessSolverResult;
+import de.feu.propra.solver.CsvResultSink;
+import de.feu.propra.solver.JsonLinesResultSink;
+import de.feu.propra.solver.ResultCache;
+import de.feu.propra.solver.ResultSink;
+import de.feu.propra.solver.SolverStatus;
+import de.feu.propra.solver.StorageMode;
+import de.feu.propra.solver.TableResultSink;
+import de.feu.propra.ui.Settings;
+
+/**
+ * Entry class for batch checks without GUI, e.g. on a build server. Neither
+ * Swing nor GraphStream are loaded. The table of results is printed to the
+ * standard output, the log messages to the standard error.
+ * 
+ * @author j-hap 
+ */
+public final class PetricheckBatch {
+  /**
+   * Exit code if all nets are bounded.
+   */
+  public static final int EXIT_BOUNDED = 0;
+  /**
+   * Exit code if at least one net is unbounded and all others are bounded.
+   */
+  public static final int EXIT_UNBOUNDED = 1;
+  /**
+   * Exit code if the boundedness of at least one net is unknown, because its
+   * check ran out of budget.
+   */
+  public static final int EXIT_UNKNOWN = 2;
+  /**
+   * Exit code if the check of at least one file failed, e.g. because it cannot
+   * be parsed. Takes precedence over the other results.
+   */
+  public static final int EXIT_ERROR = 3;
+  /**
+   * Exit code if the arguments are invalid, match no files or name files that
+   * cannot be read.
+   */
+  public static final int EXIT_USAGE = 64;
+  private static final long DEFAULT_CACHE_MIB = 256;
+  private static final String USAGE = """
+      Usage: PetricheckBatch [options] <file | directory | glob>...
+      Checks the boundedness of PNML files. Directories are searched for *.pnml
+      files recursively, globs like nets/**/*.pnml are matched by Java itself,
+      where **/ may also match no directory at all. Files that cannot be read
+      and globs or directories without PNML files are rejected.
+      Options:
+        --storage=<heap|off-heap|bitstate|hash-compaction|external>
+        --threads=<n>         threads that explore the state space of one file
+        --files=<n>           files that are checked at the same time
+        --bitstate-memory=<MiB>
+                              memory of all bitstate arrays together, shared
+                              by the files checked at the same time
+        --por                 partial order reduction
+        --symmetry            symmetry reduction
+        --structural          structural check before the exploration
+        --net-class           net class analysis before the exploration
+        --reduce              net reduction before the exploration
+        --place-bounds        place bound analysis
+        --symbolic            symbolic exploration, ignores the options above
+        --time-limit=<ms>     time budget per file
+        --state-limit=<n>     state budget per file
+        --heap-limit=<0..1>   heap budget per file
+        --cache=<directory>   reuses the results of unchanged files
+        --cache-size=<MiB>    size limit of the cache, 256 by default
+        --format=<table|jsonl|csv>
+                              output format, the table by default, JSON Lines
+                              and CSV are written as each file finishes
+        --quiet               no log messages below warnings
+      Exit codes: 0 all bounded, 1 unbounded net found, 2 boundedness unknown,
+      3 check of a file failed, 64 invalid arguments or unreadable files.
+      """;
+
+  // prevents instances
+  private PetricheckBatch() {
+  }
+
+  /**
+   * Checks the given files and exits with one of the exit codes defined by
+   * this class.
+   * 
+   * @param args Options and files, run without arguments for a description.
+   */
+  public static void main(String[] args) {
+    System.exit(run(args));
+  }
+
+  /**
+   * Checks the given files without exiting the JVM.
+   * 
+   * @param args Options and files, as for {@link #main(String[])}.
+   * @return The exit code.
+   */
+  public static int run(String[] args) {
+    // so loggers also use the correct locale
+    Locale.setDefault(Settings.getLocale());
+    var files = new ArrayList<File>();
+    var options = new ArrayList<String>();
+    try {
+      for (var arg : args) {
+        if (arg.startsWith("--")) {
+          options.add(arg);
+        } else {
+          files.addAll(expand(arg));
+        }
+      }
+    } catch (UncheckedIOException e) {
+      System.err.println(e.getCause().getMessage());
+      return EXIT_USAGE;
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      return EXIT_USAGE;
+    }
+    if (files.isEmpty()) {
+      System.err.print(USAGE);
+      return EXIT_USAGE;
+    }
+    var solver = new BatchSolver(files.toArray(File[]::new));
+    Path cacheDirectory = null;
+    var cacheMib = DEFAULT_CACHE_MIB;
+    ResultSink output = new TableResultSink(System.out);
+    try {
+      for (var o : options) {
+        if (o.startsWith("--format=")) {
+          output = createSink(o.substring("--format=".length()));
+        } else if (o.startsWith("--cache=")) {
+          cacheDirectory = Path.of(o.substring("--cache=".length()));
+        } else if (o.startsWith("--cache-size=")) {
+          cacheMib = Long.parseLong(o.substring("--cache-size=".length()));
+        } else {
+          configure(solver, o);
+        }
+      }
+      if (cacheDirectory != null) {
+        solver.setResultCache(new ResultCache(cacheDirectory, cacheMib << 20));
+      }
+    } catch (UncheckedIOException e) {
+      System.err.println(e.getCause().getMessage());
+      return EXIT_USAGE;
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      return EXIT_USAGE;
+    }
+    // the results are only streamed, so the memory does not grow with the
+    // number of files
+    var exitCode = new int[] { EXIT_BOUNDED };
+    solver.setResultRetention(false);
+    solver.addResultSink(output);
+    solver.addResultSink(r -> exitCode[0] = Math.max(exitCode[0], exitCodeOf(r)));
+    solver.solve();
+    System.out.flush();
+    return exitCode[0];
+  }
+
+  private static int exitCodeOf(BoundednessSolverResult result) {
+    if (result.status == SolverStatus.ERROR) {
+      return EXIT_ERROR;
+    }
+    if (result.status != SolverStatus.COMPLETE) {
+      return EXIT_UNKNOWN;
+    }
+    return result.isBounded ? EXIT_BOUNDED : EXIT_UNBOUNDED;
+  }
+
+  private static ResultSink createSink(String format) {
+    return switch (format) {
+    case "table" -> new TableResultSink(System.out);
+    case "jsonl" -> new JsonLinesResultSink(System.out);
+    case "csv" -> new CsvResultSink(System.out);
+    default -> throw new IllegalArgumentException("Unknown format " + format);
+    };
+  }
+
+  private static void configure(BatchSolver solver, String option) {
+    var parts = option.split("=", 2);
+    var value = parts.length == 2 ? parts[1] : "";
+    try {
+      switch (parts[0]) {
+      case "--storage" -> solver.setStorageMode(parseStorageMode(value));
+      case "--threads" -> solver.setParallelism(Integer.parseInt(value));
+      case "--files" -> solver.setFileParallelism(Integer.parseInt(value));
+      case "--bitstate-memory" -> solver.setBitstateMemory(Long.parseLong(value) << 20);
+      case "--por" -> solver.setPartialOrderReduction(true);
+      case "--symmetry" -> solver.setSymmetryReduction(true);
+      case "--structural" -> solver.setStructuralCheck(true);
+      case "--net-class" -> solver.setNetClassAnalysis(true);
+      case "--reduce" -> solver.setNetReduction(true);
+      case "--place-bounds" -> solver.setPlaceBoundAnalysis(true);
+      case "--symbolic" -> solver.setSymbolic(true);
+      case "--time-limit" -> solver.setTimeLimit(Long.parseLong(value));
+      case "--state-limit" -> solver.setStateLimit(Long.parseLong(value));
+      case "--heap-limit" -> solver.setHeapLimit(Double.parseDouble(value));
+      case "--quiet" -> Logger.getLogger("").setLevel(Level.WARNING);
+      default -> throw new IllegalArgumentException("Unknown option " + option);
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid value in " + option);
+    }
+  }
+
+  private static StorageMode parseStorageMode(String value) {
+    try {
+      return StorageMode.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown storage mode " + value);
+    }
+  }
+
+  // the files given by a file name, a directory or a glob, sorted by path
+  private static List<File> expand(String arg) {
+    var globStart = indexOfGlob(arg);
+    List<File> files;
+    if (globStart < 0) {
+      var path = Path.of(arg);
+      if (!Files.isDirectory(path)) {
+        // the PetriNet would only warn and check an empty net
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+          throw new IllegalArgumentException("Cannot read " + arg);
+        }
+        return List.of(path.toFile());
+      }
+      files = walk(path, Integer.MAX_VALUE, Set.of("**.pnml"));
+    } else {
+      // the directory part in front of the first glob character
+      var glob = arg.replace(File.separatorChar, '/');
+      var separator = glob.lastIndexOf('/', globStart);
+      var root = separator < 0 ? Path.of("") : Path.of(arg.substring(0, separator + 1));
+      // only ** crosses directories, other globs are not walked deeper than
+      // their separators reach
+      var relative = glob.substring(separator + 1);
+      var depth = relative.contains("**") ? Integer.MAX_VALUE
+          : (int) relative.chars().filter(c -> c == '/').count() + 1;
+      files = walk(root, depth, globVariants(glob));
+    }
+    // a mistyped glob would otherwise pass without checking anything
+    if (files.isEmpty()) {
+      throw new IllegalArgumentException("No PNML files match " + arg);
+    }
+    return files;
+  }
+
+  private static int indexOfGlob(String arg) {
+    for (int i = 0; i < arg.length(); ++i) {
+      if ("*?[{".indexOf(arg.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // the glob and the variants in which a **/ matches no directory at all,
+  // which the glob syntax of Java does not allow
+  private static Set<String> globVariants(String glob) {
+    var i = glob.indexOf("**/");
+    if (i < 0) {
+      return Set.of(glob);
+    }
+    var variants = new HashSet<String>();
+    for (var rest : globVariants(glob.substring(i + 3))) {
+      variants.add(glob.substring(0, i + 3) + rest);
+      variants.add(glob.substring(0, i) + rest);
+    }
+    return variants;
+  }
+
+  private static List<File> walk(Path root, int depth, Set<String> globs) {
+    var matchers = globs.stream().map(g -> root.getFileSystem().getPathMatcher("glob:" + g))
+        .collect(Collectors.toList());
+    try (Stream<Path> paths = Files.walk(root, depth)) {
+      return paths.filter(Files::isRegularFile).filter(p -> matchers.stream().anyMatch(m -> m.matches(p))).sorted()
+          .map(Path::toFile).collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -7,11 +7,22 @@ import java.io.FileNotFoundException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
 import de.feu.propra.petrinet.PetriNet;
 import de.feu.propra.solver.BatchSolver;
 import de.feu.propra.solver.BoundednessSolver;
+import de.feu.propra.solver.BoundednessSolverResult;
+import de.feu.propra.solver.SolverProgress;
+import de.feu.propra.solver.SolverStatus;
 import de.feu.propra.ui.MainView;
 import de.feu.propra.ui.MainViewAction;
 import de.feu.propra.ui.Settings;
@@ -32,6 +43,17 @@ public class MainController implements ActionListener, ActiveFileChangeListener
   private FileSelector fileSelector;
   private SwingTabManager tabManager = new SwingTabManager();
   private MainView mainView;
+  // solvers run one at a time on a background thread, so the UI stays
+  // responsive and the solver can be cancelled
+  private ExecutorService solverExecutor = Executors.newSingleThreadExecutor(r -> {
+    var thread = new Thread(r, "solver");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private Timer progressTimer = new Timer(PROGRESS_INTERVAL_MS, e -> showProgress());
+  private Supplier<SolverProgress> runningProgress;
+  private Runnable runningCancel;
+  private static final int PROGRESS_INTERVAL_MS = 500;
   private static final Logger logger = Logger.getLogger(MainController.class.getName());
   private static final ResourceBundle bundle = ResourceBundle.getBundle("langs.labels", Settings.getLocale());
 
@@ -96,6 +118,7 @@ public class MainController implements ActionListener, ActiveFileChangeListener
     case DELETE_GRAPH -> deleteGraph();
     case RESET_NET -> getActiveNetController().resetModel();
     case BOUNDS_CHECK -> runBoundsCheck();
+    case CANCEL -> cancelSolver();
     case FIT_TO_VIEW -> getActiveNetController().fitView();
     default -> logger.warning("Missing implementation.");
     }
@@ -178,10 +201,10 @@ public class MainController implements ActionListener, ActiveFileChangeListener
       return;
     }
     var solver = new BatchSolver(files);
-    mainView.showWaitCursor();
-    solver.solve();
-    mainView.resetCursor();
-    solver.printResults();
+    runInBackground(() -> {
+      solver.solve();
+      return solver;
+    }, solver::getProgress, solver::cancel, BatchSolver::printResults);
   }
 
   private void deleteGraph() {
@@ -191,15 +214,48 @@ public class MainController implements ActionListener, ActiveFileChangeListener
 
   private void runBoundsCheck() {
     deleteGraph();
-    var solver = new BoundednessSolver(getActiveNetController().getModel());
-    mainView.showWaitCursor();
-    var result = solver.solve();
-    mainView.resetCursor();
+    var net = getActiveNetController().getModel();
+    // the solver explores a copy and its graph is replayed when it is done, so
+    // the displayed models and their views are only touched on the event
+    // dispatch thread
+    var copy = new PetriNet(net);
+    var recorder = new ReachabilityGraphRecorder();
+    copy.getReachabilityGraph().addChangeListener(recorder);
+    var solver = new BoundednessSolver(copy);
+    // the active tab may change while the solver runs
+    var controller = getActiveGraphController();
+    runInBackground(solver::solve, solver::getProgress, solver::cancel, result -> {
+      showGraph(result, net, recorder, controller);
+      showResult(result, controller);
+    });
+  }
+
+  // leaves the net in the same state as triggering the transitions on it would
+  // have: at m' for unbounded nets, at the initial marking otherwise
+  private void showGraph(BoundednessSolverResult result, PetriNet net, ReachabilityGraphRecorder recorder,
+      ReachabilityGraphController controller) {
+    // drops the transitions the user triggered while the solver ran
+    controller.clearModel();
+    // the replayed graph starts at the initial marking, so the net has to be
+    // there as well for the active node to be highlighted
+    net.resetPlaces();
+    var rGraph = net.getReachabilityGraph();
+    recorder.replayInto(rGraph);
+    if (Boolean.FALSE.equals(result.isBounded)) {
+      rGraph.markUnbounded(result.problemMarkings.get(0), result.problemMarkings.get(1));
+      net.setMarking(result.problemMarkings.get(1));
+    } else {
+      rGraph.markingChanged(net.getMarking());
+    }
+  }
+
+  private void showResult(BoundednessSolverResult result, ReachabilityGraphController controller) {
     logger.info(result.toString());
-    if (result.isBounded) {
+    if (result.status != SolverStatus.COMPLETE) {
+      mainView.showPopup(bundle.getString("cancelled_info"));
+    } else if (result.isBounded) {
       mainView.showPopup(bundle.getString("bounded_info"));
     } else {
-      var controller = getActiveGraphController();
       controller.highlightPath(result.problemPath);
       for (var m : result.problemMarkings) {
         controller.markProblem(m);
@@ -209,6 +265,48 @@ public class MainController implements ActionListener, ActiveFileChangeListener
     }
   }
 
+  // runs the task on the solver thread and hands its result to the consumer on
+  // the event dispatch thread, while the progress is shown in the status bar
+  private <T> void runInBackground(Supplier<T> task, Supplier<SolverProgress> progress, Runnable cancel,
+      Consumer<T> onDone) {
+    runningProgress = progress;
+    runningCancel = cancel;
+    MainViewAction.setSolverRunning(true);
+    progressTimer.start();
+    CompletableFuture.supplyAsync(task, solverExecutor)
+        .whenComplete((result, error) -> SwingUtilities.invokeLater(() -> finishBackground(result, error, onDone)));
+  }
+
+  private <T> void finishBackground(T result, Throwable error, Consumer<T> onDone) {
+    progressTimer.stop();
+    runningProgress = null;
+    runningCancel = null;
+    MainViewAction.setSolverRunning(false);
+    mainView.setStatusMessage(getCurrentFilename());
+    if (error != null) {
+      // unwraps the CompletionException
+      var cause = error.getCause() == null ? error : error.getCause();
+      logger.severe(cause.toString());
+    } else {
+      onDone.accept(result);
+    }
+  }
+
+  private void showProgress() {
+    if (runningProgress == null) {
+      return;
+    }
+    var p = runningProgress.get();
+    mainView.setStatusMessage(String.format(bundle.getString("progress"), p.nodeCount, p.getNodesPerSecond(),
+        p.pendingCount, p.elapsedMillis / 1000));
+  }
+
+  private void cancelSolver() {
+    if (runningCancel != null) {
+      runningCancel.run();
+    }
+  }
+
   /**
    * Sends necessary information to {@code MainView} for user feedback.
    * {@inheritDoc}
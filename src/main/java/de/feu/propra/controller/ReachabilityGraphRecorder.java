@@ -0,0 +1,65 @@
+package de.feu.propra.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.feu.propra.reachability.Marking;
+import de.feu.propra.reachability.ReachabilityGraph;
+
+/**
+ * The {@code ReachabilityGraphRecorder} collects the edges that are added to a
+ * {@code ReachabilityGraph} on a background thread, so they can be replayed
+ * into a displayed {@code ReachabilityGraph} on the event dispatch thread.
+ * 
+ * @author j-hap 
+ *
+ */
+class ReachabilityGraphRecorder implements ReachabilityGraphChangeListener {
+  private List<RecordedEdge> edges = new ArrayList<>();
+
+  /**
+   * Adds the recorded edges to the given {@code ReachabilityGraph} in the order
+   * they were recorded. The graph must contain the initial marking of the
+   * recorded one.
+   * 
+   * @param rGraph The {@code ReachabilityGraph} to fill.
+   */
+  void replayInto(ReachabilityGraph rGraph) {
+    for (var e : edges) {
+      rGraph.addMarking(e.id, e.label, e.source, e.target, false);
+    }
+  }
+
+  /**
+   * Records the new edge. {@inheritDoc}
+   */
+  @Override
+  public void edgeAdded(String id, String label, Marking source, Marking target) {
+    edges.add(new RecordedEdge(id, label, source, target));
+  }
+
+  /**
+   * Drops the edges recorded so far. {@inheritDoc}
+   */
+  @Override
+  public void reachabilityGraphInitialized(Marking initialMarking) {
+    edges.clear();
+  }
+
+  /**
+   * Does nothing, the replay activates the markings. {@inheritDoc}
+   */
+  @Override
+  public void activeMarkingChanged(Marking newActiveMarking) {
+  }
+
+  /**
+   * Does nothing, the replay visits the edges. {@inheritDoc}
+   */
+  @Override
+  public void edgeVisited(Marking oldMarking, String edgeId) {
+  }
+
+  private record RecordedEdge(String id, String label, Marking source, Marking target) {
+  }
+}
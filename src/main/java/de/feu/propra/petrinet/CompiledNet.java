@@ -0,0 +1,187 @@
+package de.feu.propra.petrinet;
+
+import java.util.HashMap;
+
+import de.feu.propra.reachability.Marking;
+
+/**
+ * An immutable, integer indexed snapshot of the structure and the current
+ * marking of a {@code PetriNet}. {@code Place}s are numbered in the same
+ * (alphabetical) order as the token counts of a {@code Marking},
+ * {@code Transition}s in the order in which
+ * {@link PetriNet#getActiveTransitionIds()} reports them. Markings are plain
+ * int arrays, so a {@code CompiledNet} can be used for state space exploration
+ * without touching any {@code Place} or {@code Transition} object or firing
+ * property change events.
+ * 
+ * @author j-hap 
+ *
+ */
+public final class CompiledNet {
+  private final String[] placeIds;
+  private final String[] transitionIds;
+  private final String[] transitionLabels;
+  // place indices each transition takes a token from / gives a token to
+  private final int[][] pre;
+  private final int[][] post;
+  private final int[] initialMarking;
+
+  /**
+   * Compiles the given {@code PetriNet}. The current token count of each
+   * {@code Place} becomes the initial marking of the {@code CompiledNet}. Later
+   * changes to the {@code PetriNet} are not reflected.
+   * 
+   * @param net The {@code PetriNet} to compile.
+   */
+  public CompiledNet(PetriNet net) {
+    var places = net.getPlaces();
+    var transitions = net.getTransitions();
+    placeIds = new String[places.size()];
+    initialMarking = new int[places.size()];
+    var placeIndex = new HashMap<Place, Integer>();
+    int iPlace = 0;
+    for (var p : places) {
+      placeIds[iPlace] = p.getId();
+      initialMarking[iPlace] = p.getTokenCount();
+      placeIndex.put(p, iPlace);
+      ++iPlace;
+    }
+
+    transitionIds = new String[transitions.size()];
+    transitionLabels = new String[transitions.size()];
+    pre = new int[transitions.size()][];
+    post = new int[transitions.size()][];
+    int iTransition = 0;
+    for (var t : transitions) {
+      transitionIds[iTransition] = t.getId();
+      transitionLabels[iTransition] = t.getLabel();
+      pre[iTransition] = t.getPredecessors().stream().mapToInt(placeIndex::get).sorted().toArray();
+      post[iTransition] = t.getSuccessors().stream().mapToInt(placeIndex::get).sorted().toArray();
+      ++iTransition;
+    }
+  }
+
+  /**
+   * @return The number of {@code Place}s.
+   */
+  public int getPlaceCount() {
+    return placeIds.length;
+  }
+
+  /**
+   * @return The number of {@code Transition}s.
+   */
+  public int getTransitionCount() {
+    return transitionIds.length;
+  }
+
+  /**
+   * @param place Index of the {@code Place}.
+   * @return The ID of the {@code Place} with the given index.
+   */
+  public String getPlaceId(int place) {
+    return placeIds[place];
+  }
+
+  /**
+   * @param transition Index of the {@code Transition}.
+   * @return The ID of the {@code Transition} with the given index.
+   */
+  public String getTransitionId(int transition) {
+    return transitionIds[transition];
+  }
+
+  /**
+   * @param transition Index of the {@code Transition}.
+   * @return The label the {@code Transition} had when the net was compiled.
+   */
+  public String getTransitionLabel(int transition) {
+    return transitionLabels[transition];
+  }
+
+  /**
+   * @return A copy of the token counts the {@code Place}s had when the net was
+   *         compiled.
+   */
+  public int[] getInitialMarking() {
+    return initialMarking.clone();
+  }
+
+  /**
+   * @param transition Index of the {@code Transition}.
+   * @return The sorted indices of the predecessor {@code Place}s.
+   */
+  public int[] getPreset(int transition) {
+    return pre[transition].clone();
+  }
+
+  /**
+   * @param transition Index of the {@code Transition}.
+   * @return The sorted indices of the successor {@code Place}s.
+   */
+  public int[] getPostset(int transition) {
+    return post[transition].clone();
+  }
+
+  /**
+   * Checks if a {@code Transition} can be fired in the given marking.
+   * 
+   * @param marking    Token count per {@code Place}.
+   * @param transition Index of the {@code Transition}.
+   * @return True if all predecessor {@code Place}s have at least one token or if
+   *         there are no predecessors. False otherwise.
+   */
+  public boolean isEnabled(int[] marking, int transition) {
+    for (var p : pre[transition]) {
+      if (marking[p] == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fires a {@code Transition} without checking if it is enabled.
+   * 
+   * @param marking    Token count per {@code Place}. Is not modified.
+   * @param transition Index of the {@code Transition}.
+   * @return The marking after firing.
+   * @throws ArithmeticException If a token count overflows.
+   */
+  public int[] fire(int[] marking, int transition) {
+    var next = marking.clone();
+    for (var p : pre[transition]) {
+      --next[p];
+    }
+    for (var p : post[transition]) {
+      // to detect integer overflow, like Place does
+      next[p] = Math.addExact(next[p], 1);
+    }
+    return next;
+  }
+
+  /**
+   * Fires a {@code Transition} without checking if it is enabled, where a token
+   * count of {@link Marking#OMEGA} stays unchanged.
+   * 
+   * @param marking    Token count per {@code Place}, possibly
+   *                   {@code Marking.OMEGA}. Is not modified.
+   * @param transition Index of the {@code Transition}.
+   * @return The marking after firing.
+   * @throws ArithmeticException If a token count overflows.
+   */
+  public int[] fireOmega(int[] marking, int transition) {
+    var next = marking.clone();
+    for (var p : pre[transition]) {
+      if (next[p] != Marking.OMEGA) {
+        --next[p];
+      }
+    }
+    for (var p : post[transition]) {
+      if (next[p] != Marking.OMEGA) {
+        next[p] = Math.addExact(next[p], 1);
+      }
+    }
+    return next;
+  }
+}
@@ -0,0 +1,73 @@
+package de.feu.propra.petrinet;
+
+/**
+ * Structural classes of Petri nets, for which boundedness can be decided or
+ * proven faster than by exploring the state space.
+ * 
+ * @author j-hap 
+ *
+ */
+public enum NetClass {
+  /**
+   * Every {@code Transition} has exactly one predecessor and one successor
+   * {@code Place}, so firing never changes the number of tokens.
+   */
+  STATE_MACHINE,
+  /**
+   * Every {@code Place} has exactly one predecessor and one successor
+   * {@code Transition}.
+   */
+  MARKED_GRAPH,
+  /**
+   * Every {@code Place} with more than one successor is the only predecessor
+   * of each of them, so conflicts never depend on other {@code Place}s.
+   */
+  FREE_CHOICE,
+  /**
+   * None of the other classes.
+   */
+  GENERAL;
+
+  /**
+   * Determines the most specific class of the given net. Nets that are state
+   * machines and marked graphs at once are reported as state machines.
+   * 
+   * @param net The {@code CompiledNet} to classify.
+   * @return The {@code NetClass} of the net.
+   */
+  public static NetClass of(CompiledNet net) {
+    var isStateMachine = true;
+    var producerCount = new int[net.getPlaceCount()];
+    var consumerCount = new int[net.getPlaceCount()];
+    for (int t = 0; t < net.getTransitionCount(); ++t) {
+      var preset = net.getPreset(t);
+      var postset = net.getPostset(t);
+      isStateMachine &= preset.length == 1 && postset.length == 1;
+      for (var p : preset) {
+        ++consumerCount[p];
+      }
+      for (var p : postset) {
+        ++producerCount[p];
+      }
+    }
+    if (isStateMachine) {
+      return STATE_MACHINE;
+    }
+    var isMarkedGraph = true;
+    for (int p = 0; p < net.getPlaceCount(); ++p) {
+      isMarkedGraph &= producerCount[p] == 1 && consumerCount[p] == 1;
+    }
+    if (isMarkedGraph) {
+      return MARKED_GRAPH;
+    }
+    for (int t = 0; t < net.getTransitionCount(); ++t) {
+      var preset = net.getPreset(t);
+      for (var p : preset) {
+        if (consumerCount[p] > 1 && preset.length > 1) {
+          return GENERAL;
+        }
+      }
+    }
+    return FREE_CHOICE;
+  }
+}
@@ -0,0 +1,348 @@
+package de.feu.propra.petrinet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Simplifies a {@code PetriNet} with rules that keep its boundedness, so that
+ * a smaller state space has to be explored. The given {@code PetriNet} is not
+ * modified, the reduced net is a new {@code PetriNet} whose {@code Place}s and
+ * {@code Transition}s keep the IDs of the ones they replace.
+ * <p>
+ * The rules are applied until none of them matches anymore:
+ * <ul>
+ * <li>{@link Rule#SELF_LOOP_TRANSITION} and {@link Rule#DUPLICATE_TRANSITION}
+ * remove {@code Transition}s that do not change the marking or that can be
+ * replaced by another one.</li>
+ * <li>{@link Rule#CONSTANT_PLACE} and {@link Rule#DUPLICATE_PLACE} remove
+ * implicit {@code Place}s, whose token count is constant or never smaller than
+ * the one of another {@code Place} with the same neighbours.</li>
+ * <li>{@link Rule#SERIES_PLACES} and {@link Rule#SERIES_TRANSITIONS} fuse the
+ * elements of chains, where a token can only move on.</li>
+ * </ul>
+ * A firing sequence of the reduced net is mapped back to the original
+ * {@code Transition} IDs by {@link #expandPath(List)}.
+ * 
+ * @author j-hap 
+ *
+ */
+public final class NetReduction {
+  /**
+   * The reduction rules.
+   */
+  public enum Rule {
+    /**
+     * A {@code Transition} that takes a token from and gives a token to the
+     * same {@code Place}s is removed.
+     */
+    SELF_LOOP_TRANSITION,
+    /**
+     * Of two {@code Transition}s with the same predecessors and successors, the
+     * second is removed.
+     */
+    DUPLICATE_TRANSITION,
+    /**
+     * A {@code Place} whose token count never changes and that never disables a
+     * {@code Transition} is removed.
+     */
+    CONSTANT_PLACE,
+    /**
+     * Of two {@code Place}s with the same predecessors and successors, the one
+     * with more initial tokens is removed.
+     */
+    DUPLICATE_PLACE,
+    /**
+     * A {@code Transition} that moves a token from its only predecessor, which
+     * it is the only successor of, to its only successor is removed, and both
+     * {@code Place}s are fused into the latter.
+     */
+    SERIES_PLACES,
+    /**
+     * An initially empty {@code Place} between a single producing and a single
+     * consuming {@code Transition}, whose only predecessor it is, is removed
+     * and both {@code Transition}s are fused into the former.
+     */
+    SERIES_TRANSITIONS;
+  }
+
+  // initial tokens by place id
+  private final Map<String, Integer> tokens = new TreeMap<>();
+  // predecessors and successors by transition id
+  private final Map<String, Set<String>> pre = new LinkedHashMap<>();
+  private final Map<String, Set<String>> post = new LinkedHashMap<>();
+  // producing and consuming transitions by place id
+  private final Map<String, Set<String>> producers = new HashMap<>();
+  private final Map<String, Set<String>> consumers = new HashMap<>();
+  // the original transitions a transition of the reduced net stands for
+  private final Map<String, List<String>> expansions = new HashMap<>();
+  // original transitions that bring the reduced net to its initial marking
+  private final List<String> prefix = new ArrayList<>();
+  private final List<String> appliedRules = new ArrayList<>();
+  private PetriNet reducedNet;
+
+  /**
+   * Reduces the given net.
+   * 
+   * @param net The {@code PetriNet} to reduce. Its current marking is used as
+   *            the initial marking. Is not modified.
+   */
+  public NetReduction(PetriNet net) {
+    var compiled = new CompiledNet(net);
+    var initial = compiled.getInitialMarking();
+    for (int p = 0; p < compiled.getPlaceCount(); ++p) {
+      tokens.put(compiled.getPlaceId(p), initial[p]);
+      producers.put(compiled.getPlaceId(p), new TreeSet<>());
+      consumers.put(compiled.getPlaceId(p), new TreeSet<>());
+    }
+    for (int t = 0; t < compiled.getTransitionCount(); ++t) {
+      var id = compiled.getTransitionId(t);
+      pre.put(id, new TreeSet<>());
+      post.put(id, new TreeSet<>());
+      expansions.put(id, List.of(id));
+      for (var p : compiled.getPreset(t)) {
+        connect(compiled.getPlaceId(p), id);
+      }
+      for (var p : compiled.getPostset(t)) {
+        connect(id, compiled.getPlaceId(p));
+      }
+    }
+    var changed = true;
+    while (changed) {
+      changed = removeSelfLoopTransitions() | removeDuplicateTransitions() | removeConstantPlaces()
+          | removeDuplicatePlaces() | fuseSeriesPlaces() | fuseSeriesTransitions();
+    }
+  }
+
+  /**
+   * @return True if at least one rule was applied.
+   */
+  public boolean isReduced() {
+    return !appliedRules.isEmpty();
+  }
+
+  /**
+   * @return The applied rules in order, each followed by the IDs of the
+   *         affected {@code Place}s and {@code Transition}s in parentheses.
+   */
+  public List<String> getAppliedRules() {
+    return appliedRules;
+  }
+
+  /**
+   * @return The reduced net, created on the first call. Its {@code Place}s and
+   *         {@code Transition}s keep their IDs, {@code Arc} IDs are new.
+   */
+  public PetriNet getReducedNet() {
+    if (reducedNet == null) {
+      reducedNet = createReducedNet();
+    }
+    return reducedNet;
+  }
+
+  /**
+   * Maps a firing sequence of the reduced net to one of the original net.
+   * 
+   * @param reducedPath {@code Transition} IDs of the reduced net, in firing
+   *                    order, starting at the initial marking.
+   * @return {@code Transition} IDs of the original net, in firing order,
+   *         starting at the initial marking.
+   */
+  public List<String> expandPath(List<String> reducedPath) {
+    var path = new ArrayList<>(prefix);
+    for (var t : reducedPath) {
+      path.addAll(expansions.get(t));
+    }
+    return path;
+  }
+
+  private PetriNet createReducedNet() {
+    var net = new PetriNet();
+    var ids = new HashSet<String>(tokens.keySet());
+    ids.addAll(pre.keySet());
+    tokens.forEach((p, n) -> {
+      net.addPlace(p);
+      net.setInitialTokens(p, n);
+    });
+    pre.keySet().forEach(net::addTransition);
+    var arcCount = 0;
+    for (var t : pre.keySet()) {
+      for (var p : pre.get(t)) {
+        net.addArc(newArcId(ids, arcCount++), p, t);
+      }
+      for (var p : post.get(t)) {
+        net.addArc(newArcId(ids, arcCount++), t, p);
+      }
+    }
+    return net;
+  }
+
+  private static String newArcId(Set<String> ids, int count) {
+    var id = "a" + count;
+    while (ids.contains(id)) {
+      id = "_" + id;
+    }
+    return id;
+  }
+
+  private void connect(String source, String target) {
+    if (pre.containsKey(target)) {
+      pre.get(target).add(source);
+      consumers.get(source).add(target);
+    } else {
+      post.get(source).add(target);
+      producers.get(target).add(source);
+    }
+  }
+
+  private void removeTransition(String t) {
+    pre.remove(t).forEach(p -> consumers.get(p).remove(t));
+    post.remove(t).forEach(p -> producers.get(p).remove(t));
+    expansions.remove(t);
+  }
+
+  private void removePlace(String p) {
+    tokens.remove(p);
+    producers.remove(p).forEach(t -> post.get(t).remove(p));
+    consumers.remove(p).forEach(t -> pre.get(t).remove(p));
+  }
+
+  private void record(Rule rule, String... ids) {
+    appliedRules.add(rule + "(" + String.join(",", ids) + ")");
+  }
+
+  private boolean removeSelfLoopTransitions() {
+    var changed = false;
+    for (var t : new ArrayList<>(pre.keySet())) {
+      if (pre.get(t).equals(post.get(t))) {
+        removeTransition(t);
+        record(Rule.SELF_LOOP_TRANSITION, t);
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  private boolean removeDuplicateTransitions() {
+    var changed = false;
+    var seen = new HashMap<List<Set<String>>, String>();
+    for (var t : new ArrayList<>(pre.keySet())) {
+      var kept = seen.putIfAbsent(List.<Set<String>>of(new TreeSet<>(pre.get(t)), new TreeSet<>(post.get(t))), t);
+      if (kept != null) {
+        removeTransition(t);
+        record(Rule.DUPLICATE_TRANSITION, t, kept);
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  private boolean removeConstantPlaces() {
+    var changed = false;
+    for (var p : new ArrayList<>(tokens.keySet())) {
+      // a place without consumers never disables a transition
+      var isConstant = producers.get(p).equals(consumers.get(p));
+      if (isConstant && (tokens.get(p) > 0 || consumers.get(p).isEmpty())) {
+        removePlace(p);
+        record(Rule.CONSTANT_PLACE, p);
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  private boolean removeDuplicatePlaces() {
+    var changed = false;
+    var seen = new HashMap<List<Set<String>>, String>();
+    for (var p : new ArrayList<>(tokens.keySet())) {
+      var key = List.<Set<String>>of(new TreeSet<>(producers.get(p)), new TreeSet<>(consumers.get(p)));
+      var other = seen.putIfAbsent(key, p);
+      if (other == null) {
+        continue;
+      }
+      // the place with more tokens always has a surplus, so it is implicit
+      var removed = tokens.get(p) >= tokens.get(other) ? p : other;
+      var kept = removed.equals(p) ? other : p;
+      removePlace(removed);
+      seen.put(key, kept);
+      record(Rule.DUPLICATE_PLACE, removed, kept);
+      changed = true;
+    }
+    return changed;
+  }
+
+  private boolean fuseSeriesPlaces() {
+    var changed = false;
+    for (var t : new ArrayList<>(pre.keySet())) {
+      if (!pre.containsKey(t) || pre.get(t).size() != 1 || post.get(t).size() != 1) {
+        continue;
+      }
+      var source = pre.get(t).iterator().next();
+      var target = post.get(t).iterator().next();
+      if (source.equals(target) || consumers.get(source).size() != 1) {
+        continue;
+      }
+      var feeders = new TreeSet<>(producers.get(source));
+      // a transition giving a token to both would need an arc weight of two
+      if (feeders.stream().anyMatch(producers.get(target)::contains)) {
+        continue;
+      }
+      var move = expansions.get(t);
+      for (int i = 0; i < tokens.get(source); ++i) {
+        prefix.addAll(move);
+      }
+      tokens.put(target, Math.addExact(tokens.get(target), tokens.get(source)));
+      removeTransition(t);
+      removePlace(source);
+      for (var u : feeders) {
+        connect(u, target);
+        expansions.put(u, concat(expansions.get(u), move));
+      }
+      record(Rule.SERIES_PLACES, source, t, target);
+      changed = true;
+    }
+    return changed;
+  }
+
+  private boolean fuseSeriesTransitions() {
+    var changed = false;
+    for (var p : new ArrayList<>(tokens.keySet())) {
+      if (!tokens.containsKey(p) || tokens.get(p) != 0 || producers.get(p).size() != 1
+          || consumers.get(p).size() != 1) {
+        continue;
+      }
+      var first = producers.get(p).iterator().next();
+      var second = consumers.get(p).iterator().next();
+      if (first.equals(second) || pre.get(second).size() != 1 || post.get(second).isEmpty()) {
+        continue;
+      }
+      var outputs = new TreeSet<>(post.get(second));
+      // a place receiving a token from both would need an arc weight of two
+      if (outputs.stream().anyMatch(post.get(first)::contains)) {
+        continue;
+      }
+      var fused = concat(expansions.get(first), expansions.get(second));
+      removeTransition(second);
+      removePlace(p);
+      for (var q : outputs) {
+        connect(first, q);
+      }
+      expansions.put(first, fused);
+      record(Rule.SERIES_TRANSITIONS, first, p, second);
+      changed = true;
+    }
+    return changed;
+  }
+
+  private static List<String> concat(List<String> first, List<String> second) {
+    var list = new ArrayList<>(first);
+    list.addAll(second);
+    return list;
+  }
+}
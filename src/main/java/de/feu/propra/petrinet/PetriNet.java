@@ -68,6 +68,33 @@ public class PetriNet {
     loadFromFile(true);
   }
 
+  /**
+   * Constructor to copy the nodes, names, arcs and initial marking of another
+   * {@code PetriNet}. The copy has a {@code ReachabilityGraph} of its own and no
+   * listeners, so it may be analyzed on another thread while the original is
+   * displayed.
+   * 
+   * @param other The {@code PetriNet} to copy.
+   */
+  public PetriNet(PetriNet other) {
+    this();
+    file = other.file;
+    for (var p : other.places.values()) {
+      addPlace(p.getId());
+      var copy = places.get(p.getId());
+      copy.setName(p.getName());
+      copy.setInitialTokenCount(p.getInitialTokenCount());
+    }
+    for (var t : other.transitions.values()) {
+      addTransition(t.getId());
+      transitions.get(t.getId()).setName(t.getName());
+    }
+    for (var a : other.arcs.values()) {
+      addArc(a.getId(), a.getSourceId(), a.getTargetId());
+    }
+    rGraph.init();
+  }
+
   private void loadFromFile(boolean createElements) {
     var parser = new SimplePnmlParser(file, this);
     if (createElements) {
@@ -189,8 +216,12 @@ public class PetriNet {
    * @see de.feu.propra.reachability.Marking
    */
   public Marking getMarking() {
-    var tokenCount = places.values().stream().map(Place::getTokenCount).toArray(Integer[]::new);
-    return new Marking(tokenCount);
+    var tokenCount = new int[places.size()];
+    int iPlace = 0;
+    for (var p : places.values()) {
+      tokenCount[iPlace++] = p.getTokenCount();
+    }
+    return Marking.wrap(tokenCount);
   }
 
   /**
@@ -376,6 +407,22 @@ public class PetriNet {
         .collect(Collectors.toList());
   }
 
+  /**
+   * @return An unmodifiable collection of all {@code Place}s, ordered
+   *         alphabetically by ID like the token counts of a {@code Marking}.
+   */
+  Collection<Place> getPlaces() {
+    return Collections.unmodifiableCollection(places.values());
+  }
+
+  /**
+   * @return An unmodifiable collection of all {@code Transition}s in the same
+   *         order as {@link #getActiveTransitionIds()} reports them.
+   */
+  Collection<Transition> getTransitions() {
+    return Collections.unmodifiableCollection(transitions.values());
+  }
+
   /**
    * @param id Unique ID of the {@code PetriNode} to be checked.
    * @return True if the given ID belongs to a {@code Transition}, false
@@ -85,6 +85,13 @@ public class Place extends SimplePetriNode {
     }
   }
 
+  /**
+   * @return The number of tokens the {@code Place} holds initially.
+   */
+  int getInitialTokenCount() {
+    return nInitialTokens;
+  }
+
   /**
    * Sets the initial token count to given number. Also resets the current token
    * count to the new initial token count.
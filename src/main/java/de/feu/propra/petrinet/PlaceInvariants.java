@@ -0,0 +1,84 @@
+package de.feu.propra.petrinet;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The minimal semi-positive place invariants of a {@code CompiledNet},
+ * computed with the Farkas algorithm in integer arithmetic. A place invariant
+ * is a weighting of the {@code Place}s, so that the weighted token sum is the
+ * same in every reachable marking. If the invariants cover every
+ * {@code Place}, their sum is a strictly positive invariant and the net is
+ * bounded, without exploring a single marking.
+ * <p>
+ * The number of intermediate rows can grow exponentially with the number of
+ * {@code Transition}s. The computation is therefore given up after
+ * {@link #MAX_ROWS} rows or an arithmetic overflow, which proves nothing.
+ * 
+ * @author j-hap 
+ *
+ */
+public final class PlaceInvariants {
+  /**
+   * The maximal number of rows of the Farkas tableau.
+   */
+  public static final int MAX_ROWS = Semiflows.MAX_ROWS;
+  private final int placeCount;
+  private final List<long[]> invariants;
+  private final boolean isComplete;
+
+  /**
+   * Computes the minimal semi-positive place invariants of the given net.
+   * 
+   * @param net The {@code CompiledNet} to analyze.
+   */
+  public PlaceInvariants(CompiledNet net) {
+    placeCount = net.getPlaceCount();
+    // the effect of each transition on a place, i.e. the rows of the
+    // incidence matrix
+    var incidence = new long[placeCount][net.getTransitionCount()];
+    for (int t = 0; t < net.getTransitionCount(); ++t) {
+      for (var p : net.getPreset(t)) {
+        --incidence[p][t];
+      }
+      for (var p : net.getPostset(t)) {
+        ++incidence[p][t];
+      }
+    }
+    var semiflows = Semiflows.compute(incidence);
+    isComplete = semiflows != null;
+    invariants = isComplete ? semiflows : List.of();
+  }
+
+  /**
+   * @return The minimal semi-positive place invariants, as weights by
+   *         {@code Place} index. Empty if the computation was given up.
+   */
+  public List<long[]> getInvariants() {
+    return invariants;
+  }
+
+  /**
+   * @return False if the computation was given up because of too many rows or
+   *         an arithmetic overflow.
+   */
+  public boolean isComplete() {
+    return isComplete;
+  }
+
+  /**
+   * @return True if every {@code Place} has a positive weight in at least one
+   *         invariant, which proves that the net is bounded.
+   */
+  public boolean coversAllPlaces() {
+    var covered = new BitSet(placeCount);
+    for (var invariant : invariants) {
+      for (int p = 0; p < placeCount; ++p) {
+        if (invariant[p] > 0) {
+          covered.set(p);
+        }
+      }
+    }
+    return isComplete && covered.cardinality() == placeCount;
+  }
+}
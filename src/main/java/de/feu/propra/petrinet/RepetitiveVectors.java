@@ -0,0 +1,89 @@
+package de.feu.propra.petrinet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The minimal increasing repetitive T-vectors of a {@code CompiledNet},
+ * computed with the Farkas algorithm in integer arithmetic. A T-vector counts
+ * how often each {@code Transition} fires. It is increasing repetitive, if
+ * firing every {@code Transition} that often leaves no {@code Place} with fewer
+ * and at least one {@code Place} with more tokens. Such a firing sequence can
+ * be repeated infinitely often, so a net in which it can be fired is
+ * unbounded.
+ * <p>
+ * Whether a T-vector can be fired depends on the marking, so the vectors are
+ * only candidates for a proof of unboundedness. Like for the
+ * {@code PlaceInvariants}, the computation is given up after
+ * {@link PlaceInvariants#MAX_ROWS} rows or an arithmetic overflow.
+ * 
+ * @author j-hap 
+ *
+ */
+public final class RepetitiveVectors {
+  private final List<int[]> vectors = new ArrayList<>();
+  private final boolean isComplete;
+
+  /**
+   * Computes the minimal increasing repetitive T-vectors of the given net.
+   * 
+   * @param net The {@code CompiledNet} to analyze.
+   */
+  public RepetitiveVectors(CompiledNet net) {
+    var placeCount = net.getPlaceCount();
+    var transitionCount = net.getTransitionCount();
+    // the effect of each transition, followed by one transition per place
+    // that only consumes a token there and absorbs the surplus
+    var effects = new long[transitionCount + placeCount][placeCount];
+    for (int t = 0; t < transitionCount; ++t) {
+      for (var p : net.getPreset(t)) {
+        --effects[t][p];
+      }
+      for (var p : net.getPostset(t)) {
+        ++effects[t][p];
+      }
+    }
+    for (int p = 0; p < placeCount; ++p) {
+      effects[transitionCount + p][p] = -1;
+    }
+    var semiflows = Semiflows.compute(effects);
+    isComplete = semiflows != null;
+    if (!isComplete) {
+      return;
+    }
+    for (var semiflow : semiflows) {
+      var counts = Arrays.copyOf(semiflow, transitionCount);
+      var surplus = Arrays.copyOfRange(semiflow, transitionCount, semiflow.length);
+      if (Arrays.stream(surplus).anyMatch(s -> s > 0) && Arrays.stream(counts).allMatch(c -> c <= Integer.MAX_VALUE)) {
+        vectors.add(Arrays.stream(counts).mapToInt(Math::toIntExact).toArray());
+      }
+    }
+    vectors.sort((a, b) -> Long.compare(length(a), length(b)));
+  }
+
+  /**
+   * @return The minimal increasing repetitive T-vectors, as firing counts by
+   *         {@code Transition} index, shortest first. Empty if the computation
+   *         was given up.
+   */
+  public List<int[]> getVectors() {
+    return vectors;
+  }
+
+  /**
+   * @return False if the computation was given up because of too many rows or
+   *         an arithmetic overflow.
+   */
+  public boolean isComplete() {
+    return isComplete;
+  }
+
+  /**
+   * @param vector A T-vector.
+   * @return The length of a firing sequence for the T-vector.
+   */
+  public static long length(int[] vector) {
+    return Arrays.stream(vector).asLongStream().sum();
+  }
+}
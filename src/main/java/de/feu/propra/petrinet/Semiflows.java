@@ -0,0 +1,157 @@
+package de.feu.propra.petrinet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Computes minimal semi-positive semiflows with the Farkas algorithm in integer
+ * arithmetic, i.e. the non-negative integer weightings of a set of vectors,
+ * whose weighted sum is zero and whose support is minimal.
+ * 
+ * @author j-hap 
+ *
+ */
+final class Semiflows {
+  /**
+   * The maximal number of rows of the Farkas tableau.
+   */
+  static final int MAX_ROWS = 10_000;
+
+  private Semiflows() {
+  }
+
+  /**
+   * Computes the minimal semi-positive semiflows of the given vectors.
+   * 
+   * @param vectors The vectors to combine, all of the same length. Are not
+   *                modified.
+   * @return The weights of the minimal semiflows, one per vector, or null if
+   *         the computation was given up after {@link #MAX_ROWS} rows or an
+   *         arithmetic overflow.
+   */
+  static List<long[]> compute(long[][] vectors) {
+    var n = vectors.length;
+    var columns = n == 0 ? 0 : vectors[0].length;
+    // each row is a combination of the vectors followed by its weights
+    List<long[]> rows = new ArrayList<>();
+    for (int i = 0; i < n; ++i) {
+      var row = Arrays.copyOf(vectors[i], columns + n);
+      row[columns + i] = 1;
+      rows.add(row);
+    }
+    try {
+      for (int column = 0; column < columns; ++column) {
+        rows = eliminate(rows, column, columns);
+        if (rows == null) {
+          return null;
+        }
+      }
+    } catch (ArithmeticException e) {
+      return null;
+    }
+    var weights = new ArrayList<long[]>();
+    for (var row : rows) {
+      weights.add(Arrays.copyOfRange(row, columns, row.length));
+    }
+    return weights;
+  }
+
+  // replaces the rows by their non-negative combinations that are zero in
+  // the given column
+  private static List<long[]> eliminate(List<long[]> rows, int column, int columns) {
+    var next = new ArrayList<long[]>();
+    var positive = new ArrayList<long[]>();
+    var negative = new ArrayList<long[]>();
+    for (var row : rows) {
+      if (row[column] == 0) {
+        next.add(row);
+      } else if (row[column] > 0) {
+        positive.add(row);
+      } else {
+        negative.add(row);
+      }
+    }
+    for (var pos : positive) {
+      for (var neg : negative) {
+        var combined = new long[pos.length];
+        var a = -neg[column];
+        var b = pos[column];
+        for (int i = 0; i < combined.length; ++i) {
+          combined[i] = Math.addExact(Math.multiplyExact(a, pos[i]), Math.multiplyExact(b, neg[i]));
+        }
+        next.add(normalize(combined));
+        if (next.size() > MAX_ROWS) {
+          return null;
+        }
+      }
+    }
+    return removeNonMinimal(next, columns);
+  }
+
+  private static long[] normalize(long[] row) {
+    long gcd = 0;
+    for (var value : row) {
+      gcd = gcd(gcd, Math.abs(value));
+    }
+    if (gcd > 1) {
+      for (int i = 0; i < row.length; ++i) {
+        row[i] /= gcd;
+      }
+    }
+    return row;
+  }
+
+  private static long gcd(long a, long b) {
+    while (b != 0) {
+      var r = a % b;
+      a = b;
+      b = r;
+    }
+    return a;
+  }
+
+  // drops duplicate rows and rows whose weight support strictly contains the
+  // support of another row, these never lead to a minimal semiflow
+  private static List<long[]> removeNonMinimal(List<long[]> rows, int columns) {
+    var supports = new ArrayList<BitSet>(rows.size());
+    for (var row : rows) {
+      var support = new BitSet();
+      for (int i = columns; i < row.length; ++i) {
+        if (row[i] != 0) {
+          support.set(i - columns);
+        }
+      }
+      supports.add(support);
+    }
+    var minimal = new ArrayList<long[]>();
+    var difference = new BitSet();
+    for (int i = 0; i < rows.size(); ++i) {
+      if (!isRedundant(rows, supports, i, difference)) {
+        minimal.add(rows.get(i));
+      }
+    }
+    return minimal;
+  }
+
+  private static boolean isRedundant(List<long[]> rows, List<BitSet> supports, int i, BitSet difference) {
+    var support = supports.get(i);
+    for (int j = 0; j < supports.size(); ++j) {
+      var other = supports.get(j);
+      if (j == i || other.cardinality() > support.cardinality()) {
+        continue;
+      }
+      difference.clear();
+      difference.or(other);
+      difference.andNot(support);
+      if (!difference.isEmpty()) {
+        continue;
+      }
+      if (other.cardinality() < support.cardinality() || (j < i && Arrays.equals(rows.get(j), rows.get(i)))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
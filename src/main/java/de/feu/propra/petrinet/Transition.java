@@ -2,6 +2,7 @@ package de.feu.propra.petrinet;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -68,6 +69,20 @@ public class Transition extends SimplePetriNode implements PropertyChangeListene
     successors.remove(place);
   }
 
+  /**
+   * @return An unmodifiable view of the predecessor {@code Place}s.
+   */
+  Set<Place> getPredecessors() {
+    return Collections.unmodifiableSet(predecessors);
+  }
+
+  /**
+   * @return An unmodifiable view of the successor {@code Place}s.
+   */
+  Set<Place> getSuccessors() {
+    return Collections.unmodifiableSet(successors);
+  }
+
   private void returnTokens(Place last) {
     var placeIter = predecessors.iterator();
     Place currentPlace;
@@ -0,0 +1,104 @@
+package de.feu.propra.reachability;
+
+import java.util.Arrays;
+
+/**
+ * A {@code VisitedSet} that keeps no markings at all, but sets k bits in a
+ * fixed size bit array for each visited marking, chosen by k independent
+ * hashes of the token counts (bitstate hashing or supertrace). A marking whose
+ * bits are all set counts as visited, so a new marking is mistaken for a
+ * visited one when all its bits have been set by others. Memory usage does not
+ * depend on the number of markings, but the larger the share of set bits, the
+ * more markings are skipped.
+ * 
+ * @author j-hap 
+ *
+ */
+public class BitstateSet implements VisitedSet {
+  private final long[] bits;
+  private final long bitCount;
+  private final int hashCount;
+  private long setBitCount;
+  private long count;
+  // sum of the probabilities that a new marking was mistaken for a visited
+  // one, over all new markings
+  private double omissionSum;
+
+  /**
+   * Creates an empty bit array.
+   * 
+   * @param bitCount  The number of bits, rounded up to a multiple of 64.
+   * @param hashCount The number of bits set per marking.
+   */
+  public BitstateSet(long bitCount, int hashCount) {
+    bits = new long[Math.toIntExact((bitCount + 63) / 64)];
+    this.bitCount = 64L * bits.length;
+    this.hashCount = hashCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean visit(int[] marking) {
+    // double hashing, the i-th index is h1 + i * h2
+    long h1 = Fingerprints.of(marking, 0x9E3779B97F4A7C15L);
+    long h2 = Fingerprints.of(marking, 0xC2B2AE3D27D4EB4FL) | 1;
+    var isNew = false;
+    var setBefore = setBitCount;
+    for (int i = 0; i < hashCount; ++i) {
+      var index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+      var word = (int) (index >>> 6);
+      var mask = 1L << index;
+      if ((bits[word] & mask) == 0) {
+        bits[word] |= mask;
+        ++setBitCount;
+        isNew = true;
+      }
+    }
+    if (isNew) {
+      ++count;
+      omissionSum += Math.pow((double) setBefore / bitCount, hashCount);
+    }
+    return isNew;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    // a new array is zeroed already, filling it again would touch every page
+    if (setBitCount > 0) {
+      Arrays.fill(bits, 0);
+    }
+    setBitCount = 0;
+    count = 0;
+    omissionSum = 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isExact() {
+    return false;
+  }
+
+  /**
+   * Each new marking is missed with the probability that all of its bits are
+   * already set, which depends on the share of set bits when it is reached.
+   */
+  @Override
+  public double expectedOmissions() {
+    return omissionSum;
+  }
+}
@@ -0,0 +1,114 @@
+package de.feu.propra.reachability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * An index of markings of equal length that answers if a marking is covered by
+ * a stored one and which stored markings a marking covers. The markings are
+ * kept in a trie with one level per {@code Place}, whose children are sorted
+ * by token count, so a query only descends into children with large enough
+ * respectively small enough token counts instead of comparing with every
+ * stored marking.
+ * 
+ * @author j-hap 
+ *
+ */
+public class CoverIndex {
+  private final int width;
+  private final Node root = new Node();
+  private int size = 0;
+
+  private static class Node {
+    final TreeMap<Integer, Node> children = new TreeMap<>();
+    // only set at the last level
+    int id = -1;
+  }
+
+  /**
+   * Constructs an empty {@code CoverIndex} for markings of the given size.
+   * 
+   * @param placeCount Number of token counts per marking.
+   */
+  public CoverIndex(int placeCount) {
+    width = placeCount;
+  }
+
+  /**
+   * Adds a marking. A marking that is already present gets the new ID.
+   * 
+   * @param marking The token counts to add.
+   * @param id      An ID to identify the marking in query results.
+   */
+  public void add(int[] marking, int id) {
+    var node = root;
+    for (int i = 0; i < width; ++i) {
+      node = node.children.computeIfAbsent(marking[i], k -> new Node());
+    }
+    if (node.id < 0) {
+      ++size;
+    }
+    node.id = id;
+  }
+
+  /**
+   * @param marking The token counts to look up.
+   * @return True if a stored marking has at least as many tokens at every
+   *         {@code Place}.
+   */
+  public boolean isCovered(int[] marking) {
+    return isCovered(root, 0, marking);
+  }
+
+  /**
+   * Removes all stored markings that have at most as many tokens at every
+   * {@code Place} as the given one, including an equal one.
+   * 
+   * @param marking The covering token counts.
+   * @return The IDs of the removed markings.
+   */
+  public List<Integer> removeCovered(int[] marking) {
+    var removed = new ArrayList<Integer>();
+    removeCovered(root, 0, marking, removed);
+    size -= removed.size();
+    return removed;
+  }
+
+  /**
+   * @return The number of stored markings.
+   */
+  public int size() {
+    return size;
+  }
+
+  private boolean isCovered(Node node, int depth, int[] marking) {
+    if (depth == width) {
+      return node.id >= 0;
+    }
+    for (var child : node.children.tailMap(marking[depth], true).values()) {
+      if (isCovered(child, depth + 1, marking)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void removeCovered(Node node, int depth, int[] marking, List<Integer> removed) {
+    if (depth == width) {
+      if (node.id >= 0) {
+        removed.add(node.id);
+        node.id = -1;
+      }
+      return;
+    }
+    var it = node.children.headMap(marking[depth], true).values().iterator();
+    while (it.hasNext()) {
+      var child = it.next();
+      removeCovered(child, depth + 1, marking, removed);
+      if (child.children.isEmpty() && child.id < 0) {
+        it.remove();
+      }
+    }
+  }
+}
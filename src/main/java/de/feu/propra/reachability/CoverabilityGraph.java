@@ -0,0 +1,156 @@
+package de.feu.propra.reachability;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.feu.propra.petrinet.CompiledNet;
+
+/**
+ * The Karp-Miller coverability graph of a {@code CompiledNet}. Whenever a new
+ * marking covers a marking on the path that lead to it, the token counts that
+ * grew are replaced by {@link Marking#OMEGA}. This keeps the graph finite for
+ * every net, so its construction always terminates.
+ * <p>
+ * A {@code Place} is unbounded if and only if one of the markings of the graph
+ * has an {@code OMEGA} token count for it. For all other {@code Place}s the
+ * largest token count in the graph is the exact bound.
+ * 
+ * @author j-hap 
+ *
+ */
+public class CoverabilityGraph {
+  private final CompiledNet net;
+  private final Map<Marking, Integer> indices = new HashMap<>();
+  private final List<int[]> markings = new ArrayList<>();
+  // index of the marking each marking was discovered from, -1 for the root
+  private int[] parent = new int[1024];
+  private int edgeCount = 0;
+
+  /**
+   * Constructs the coverability graph of the given net, starting at its initial
+   * marking.
+   * 
+   * @param net The {@code CompiledNet} to analyze.
+   */
+  public CoverabilityGraph(CompiledNet net) {
+    this.net = net;
+    build();
+  }
+
+  /**
+   * @return The number of markings in the graph.
+   */
+  public int getNodeCount() {
+    return markings.size();
+  }
+
+  /**
+   * @return The number of edges in the graph.
+   */
+  public int getEdgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * @param index Index of the marking, 0 is the initial marking.
+   * @return The marking, possibly with {@code OMEGA} token counts.
+   */
+  public Marking getMarking(int index) {
+    return Marking.wrap(markings.get(index));
+  }
+
+  /**
+   * @return The maximal token count of each {@code Place}, in the order of the
+   *         {@code CompiledNet}, or {@code Marking.OMEGA} for unbounded
+   *         {@code Place}s.
+   */
+  public int[] getBounds() {
+    var bounds = new int[net.getPlaceCount()];
+    for (var marking : markings) {
+      for (int i = 0; i < bounds.length; ++i) {
+        bounds[i] = Math.max(bounds[i], marking[i]);
+      }
+    }
+    return bounds;
+  }
+
+  /**
+   * @return True if no {@code Place} is unbounded.
+   */
+  public boolean isBounded() {
+    return Arrays.stream(getBounds()).noneMatch(b -> b == Marking.OMEGA);
+  }
+
+  private void build() {
+    add(net.getInitialMarking(), -1);
+    var stack = new ArrayDeque<Integer>();
+    stack.push(0);
+    while (!stack.isEmpty()) {
+      int source = stack.pop();
+      var marking = markings.get(source);
+      for (int t = 0; t < net.getTransitionCount(); ++t) {
+        if (!net.isEnabled(marking, t)) {
+          continue;
+        }
+        var next = net.fireOmega(marking, t);
+        accelerate(next, source, parent, markings);
+        ++edgeCount;
+        if (!indices.containsKey(Marking.wrap(next))) {
+          stack.push(add(next, source));
+        }
+      }
+    }
+  }
+
+  private int add(int[] marking, int parentIndex) {
+    var index = markings.size();
+    if (index == parent.length) {
+      parent = Arrays.copyOf(parent, 2 * index);
+    }
+    parent[index] = parentIndex;
+    markings.add(marking);
+    indices.put(Marking.wrap(marking), index);
+    return index;
+  }
+
+  /**
+   * Sets all token counts to {@code Marking.OMEGA} that grew since a covered
+   * ancestor, repeated because a grown marking may cover further ancestors.
+   * 
+   * @param marking  The new marking, is modified.
+   * @param source   Index of the marking the new one was fired from.
+   * @param parent   Index of the parent of each marking, -1 for the root.
+   * @param markings The markings by index.
+   */
+  static void accelerate(int[] marking, int source, int[] parent, List<int[]> markings) {
+    var changed = true;
+    while (changed) {
+      changed = false;
+      for (int a = source; a >= 0; a = parent[a]) {
+        var ancestor = markings.get(a);
+        if (!covers(marking, ancestor)) {
+          continue;
+        }
+        for (int i = 0; i < marking.length; ++i) {
+          if (marking[i] > ancestor[i] && marking[i] != Marking.OMEGA) {
+            marking[i] = Marking.OMEGA;
+            changed = true;
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean covers(int[] big, int[] small) {
+    for (int i = 0; i < big.length; ++i) {
+      if (big[i] < small[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,94 @@
+package de.feu.propra.reachability;
+
+/**
+ * A {@code VisitedSet} that keeps a 64 bit fingerprint of each marking in an
+ * open addressing table of longs instead of the marking itself (hash
+ * compaction). It needs 16 to 32 bytes per marking, regardless of the number of
+ * {@code Place}s. A new marking is mistaken for a visited one only if its
+ * fingerprint equals that of another one, which is very unlikely for state
+ * spaces of up to billions of markings.
+ * 
+ * @author j-hap 
+ *
+ */
+public class FingerprintSet implements VisitedSet {
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+  // 0 marks an empty slot, so a fingerprint of 0 is stored as this
+  private static final long ZERO = 1;
+  private long[] table = new long[1024];
+  private int count;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean visit(int[] marking) {
+    var fingerprint = Fingerprints.of(marking, SEED);
+    if (fingerprint == 0) {
+      fingerprint = ZERO;
+    }
+    var mask = table.length - 1;
+    for (var slot = (int) fingerprint & mask;; slot = (slot + 1) & mask) {
+      if (table[slot] == fingerprint) {
+        return false;
+      }
+      if (table[slot] == 0) {
+        table[slot] = fingerprint;
+        break;
+      }
+    }
+    if (++count > table.length / 2) {
+      grow();
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long count() {
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    table = new long[1024];
+    count = 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isExact() {
+    return false;
+  }
+
+  /**
+   * The i-th new marking is missed if its fingerprint equals one of the i - 1
+   * before, so about n^2 / 2^65 of n markings are missed.
+   */
+  @Override
+  public double expectedOmissions() {
+    return (double) count * (count - 1) / 0x1p65;
+  }
+
+  private void grow() {
+    var old = table;
+    table = new long[Math.multiplyExact(old.length, 2)];
+    var mask = table.length - 1;
+    for (var fingerprint : old) {
+      if (fingerprint != 0) {
+        var slot = (int) fingerprint & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = fingerprint;
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package de.feu.propra.reachability;
+
+/**
+ * 64 bit hashes of markings for the {@code VisitedSet}s that keep no markings.
+ * Different seeds yield independent hashes of the same marking.
+ * 
+ * @author j-hap 
+ *
+ */
+final class Fingerprints {
+  private Fingerprints() {
+  }
+
+  /**
+   * @param marking The token counts to hash.
+   * @param seed    Any odd number.
+   * @return The 64 bit hash of the marking.
+   */
+  static long of(int[] marking, long seed) {
+    var h = seed;
+    for (var tokens : marking) {
+      h = (h ^ tokens) * 0x100000001B3L + seed;
+    }
+    return mix(h);
+  }
+
+  // finalizer of SplitMix64
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
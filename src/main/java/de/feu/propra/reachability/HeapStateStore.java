@@ -0,0 +1,56 @@
+package de.feu.propra.reachability;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code StateStore} that keeps all markings on the Java heap in a
+ * {@code HashMap}.
+ * 
+ * @author j-hap 
+ *
+ */
+public class HeapStateStore implements StateStore {
+  private final Map<Marking, Integer> indices = new HashMap<>();
+  private final List<int[]> markings = new ArrayList<>();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int add(int[] marking) {
+    var index = indices.putIfAbsent(Marking.wrap(marking), markings.size());
+    if (index == null) {
+      markings.add(marking);
+      return markings.size() - 1;
+    }
+    return index;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int[] get(int index) {
+    return markings.get(index);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return markings.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    indices.clear();
+    markings.clear();
+  }
+}
@@ -12,6 +12,7 @@ import java.util.stream.Collectors;
  *
  */
 public class LinkedMarking extends Marking {
+  private static final long serialVersionUID = 1L;
   private Set<Edge<LinkedMarking>> inEdges = new HashSet<>();
   private Set<Edge<LinkedMarking>> outEdges = new HashSet<>();
 
@@ -21,7 +22,7 @@ public class LinkedMarking extends Marking {
    * @param tokenArray An array of integers that repsresents the token count of a
    *                   set of {@code Place}s.
    */
-  public LinkedMarking(Integer[] tokenArray) {
+  public LinkedMarking(int... tokenArray) {
     super(tokenArray);
   }
 
@@ -1,8 +1,7 @@
 package de.feu.propra.reachability;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * A wrapper class for an int array that represents the token count of a number
@@ -11,12 +10,23 @@ import java.util.stream.Collectors;
  * @author j-hap 
  *
  */
-public class Marking implements Comparable<Marking> {
+public class Marking implements Comparable<Marking>, Serializable {
+  private static final long serialVersionUID = 1L;
+  /**
+   * Token count that stands for an arbitrarily large number of tokens, as used
+   * by the {@code CoverabilityGraph}. Printed as &omega;.
+   */
+  public static final int OMEGA = Integer.MAX_VALUE;
   /**
    * The token count at each {@code Place}, sorted alphabetically by the
-   * {@code Place}s ID.
+   * {@code Place}s ID. Is never modified after construction.
+   */
+  protected final int[] nTokens;
+  /**
+   * The hash code of the token counts, computed once on construction because
+   * {@code Marking}s are mostly used as keys of hash based collections.
    */
-  protected final List<Integer> nTokens;
+  private final int hash;
 
   /**
    * Copy constructor.
@@ -25,17 +35,46 @@ public class Marking implements Comparable<Marking> {
    */
   protected Marking(Marking marking) {
     nTokens = marking.nTokens;
+    hash = marking.hash;
   }
 
   /**
    * Constructs a {@code Marking} with the given token count array.
    * 
    * @param tokenArray An array of integers that repsresents the token count of a
+   *                   set of {@code Place}s. It is copied, so a Marking is final
+   *                   after creation.
+   */
+  public Marking(int... tokenArray) {
+    this(tokenArray.clone(), Arrays.hashCode(tokenArray));
+  }
+
+  private Marking(int[] tokenArray, int hash) {
+    nTokens = tokenArray;
+    this.hash = hash;
+  }
+
+  /**
+   * Constructs a {@code Marking} that uses the given array without copying it.
+   * Intended for solvers that create many markings from freshly allocated
+   * arrays. The array must not be modified afterwards.
+   * 
+   * @param tokenArray An array of integers that repsresents the token count of a
    *                   set of {@code Place}s.
+   * @return A {@code Marking} backed by the given array.
    */
-  public Marking(Integer... tokenArray) {
-    // List.of returns unmodifiable list, so a Marking is final after creation
-    nTokens = List.of(tokenArray);
+  public static Marking wrap(int[] tokenArray) {
+    return new Marking(tokenArray, Arrays.hashCode(tokenArray));
+  }
+
+  /**
+   * Subclasses are serialized as plain {@code Marking}s, so e.g. the edges of a
+   * {@code LinkedMarking} are not written along.
+   * 
+   * @return The {@code Marking} that is serialized in place of this one.
+   */
+  protected Object writeReplace() {
+    return getClass() == Marking.class ? this : new Marking(this);
   }
 
   /**
@@ -45,7 +84,7 @@ public class Marking implements Comparable<Marking> {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(nTokens);
+    return hash;
   }
 
   /**
@@ -60,7 +99,7 @@ public class Marking implements Comparable<Marking> {
     if (!(obj instanceof Marking))
       return false;
     Marking other = (Marking) obj;
-    return Objects.equals(nTokens, other.nTokens);
+    return hash == other.hash && Arrays.equals(nTokens, other.nTokens);
   }
 
   /**
@@ -81,8 +120,8 @@ public class Marking implements Comparable<Marking> {
     if (this.equals(other)) {
       return 0;
     }
-    for (int i = 0; i < nTokens.size(); ++i) {
-      if (this.nTokens.get(i) < other.nTokens.get(i)) {
+    for (int i = 0; i < nTokens.length; ++i) {
+      if (this.nTokens[i] < other.nTokens[i]) {
         return -1;
       }
     }
@@ -93,8 +132,18 @@ public class Marking implements Comparable<Marking> {
    * String representation of the {@code Marking} to be used then printing.
    */
   public String toString() {
-    var s = nTokens.stream().map(String::valueOf).collect(Collectors.joining("|"));
-    return "(" + s + ")";
+    var sb = new StringBuilder("(");
+    for (int i = 0; i < nTokens.length; ++i) {
+      if (i > 0) {
+        sb.append('|');
+      }
+      if (nTokens[i] == OMEGA) {
+        sb.append('\u03c9');
+      } else {
+        sb.append(nTokens[i]);
+      }
+    }
+    return sb.append(')').toString();
   }
 
   /**
@@ -104,13 +153,20 @@ public class Marking implements Comparable<Marking> {
    * @return Token count at the ith position.
    */
   public int getTokenCount(int i) {
-    return nTokens.get(i);
+    return nTokens[i];
   }
 
   /**
    * @return The number of {@code Places} represented by this {@code Marking}.
    */
   public int size() {
-    return nTokens.size();
+    return nTokens.length;
+  }
+
+  /**
+   * @return A copy of the token counts.
+   */
+  public int[] toArray() {
+    return nTokens.clone();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package de.feu.propra.reachability;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import de.feu.propra.petrinet.CompiledNet;
+
+/**
+ * The minimal coverability set of a {@code CompiledNet}, i.e. the maximal
+ * markings of its {@code CoverabilityGraph}, computed without building the
+ * whole graph. Only an antichain of markings is kept active: a new marking that
+ * is covered by an active one is dropped, and active markings that a new one
+ * covers are removed together with their pending exploration, since every
+ * successor of a removed marking is covered by a successor of the new one.
+ * <p>
+ * Acceleration to {@link Marking#OMEGA} compares with all markings on the path
+ * that lead to a new marking, removed or not, like the
+ * {@code CoverabilityGraph} does. This keeps the construction finite.
+ * 
+ * @author j-hap 
+ *
+ */
+public class MinimalCoverabilitySet {
+  private final CompiledNet net;
+  private final CoverIndex index;
+  private final List<int[]> markings = new ArrayList<>();
+  // index of the marking each marking was discovered from, -1 for the root
+  private int[] parent = new int[1024];
+  private final BitSet active = new BitSet();
+  private final BooleanSupplier isStopped;
+
+  /**
+   * Computes the minimal coverability set of the given net, starting at its
+   * initial marking.
+   * 
+   * @param net The {@code CompiledNet} to analyze.
+   */
+  public MinimalCoverabilitySet(CompiledNet net) {
+    this(net, () -> false);
+  }
+
+  /**
+   * Computes the minimal coverability set of the given net, starting at its
+   * initial marking, unless it is stopped from the outside.
+   * 
+   * @param net       The {@code CompiledNet} to analyze.
+   * @param isStopped Asked before each marking is expanded, the construction
+   *                  is abandoned when it returns true.
+   * @throws CancellationException If {@code isStopped} returned true.
+   */
+  public MinimalCoverabilitySet(CompiledNet net, BooleanSupplier isStopped) {
+    this.net = net;
+    this.isStopped = isStopped;
+    index = new CoverIndex(net.getPlaceCount());
+    build();
+  }
+
+  /**
+   * @return The number of markings in the minimal coverability set.
+   */
+  public int size() {
+    return active.cardinality();
+  }
+
+  /**
+   * @return The number of markings created during the construction, including
+   *         the removed ones.
+   */
+  public int getCreatedCount() {
+    return markings.size();
+  }
+
+  /**
+   * @return The markings of the minimal coverability set, possibly with
+   *         {@code OMEGA} token counts.
+   */
+  public List<Marking> getMarkings() {
+    var result = new ArrayList<Marking>(size());
+    active.stream().forEach(i -> result.add(Marking.wrap(markings.get(i))));
+    return result;
+  }
+
+  /**
+   * @return The maximal token count of each {@code Place}, in the order of the
+   *         {@code CompiledNet}, or {@code Marking.OMEGA} for unbounded
+   *         {@code Place}s.
+   */
+  public int[] getBounds() {
+    var bounds = new int[net.getPlaceCount()];
+    active.stream().forEach(m -> {
+      for (int i = 0; i < bounds.length; ++i) {
+        bounds[i] = Math.max(bounds[i], markings.get(m)[i]);
+      }
+    });
+    return bounds;
+  }
+
+  /**
+   * @return True if no {@code Place} is unbounded.
+   */
+  public boolean isBounded() {
+    return Arrays.stream(getBounds()).noneMatch(b -> b == Marking.OMEGA);
+  }
+
+  private void build() {
+    var pending = new ArrayDeque<Integer>();
+    pending.push(add(net.getInitialMarking(), -1));
+    while (!pending.isEmpty()) {
+      if (isStopped.getAsBoolean()) {
+        throw new CancellationException();
+      }
+      int source = pending.pop();
+      var marking = markings.get(source);
+      // stops when a successor covers the source
+      for (int t = 0; t < net.getTransitionCount() && active.get(source); ++t) {
+        if (!net.isEnabled(marking, t)) {
+          continue;
+        }
+        var next = net.fireOmega(marking, t);
+        CoverabilityGraph.accelerate(next, source, parent, markings);
+        if (index.isCovered(next)) {
+          continue;
+        }
+        for (var covered : index.removeCovered(next)) {
+          active.clear(covered);
+        }
+        pending.push(add(next, source));
+      }
+      // removed markings stay on the stack, but are skipped
+      while (!pending.isEmpty() && !active.get(pending.peek())) {
+        pending.pop();
+      }
+    }
+  }
+
+  private int add(int[] marking, int parentIndex) {
+    var id = markings.size();
+    if (id == parent.length) {
+      parent = Arrays.copyOf(parent, 2 * id);
+    }
+    parent[id] = parentIndex;
+    markings.add(marking);
+    index.add(marking, id);
+    active.set(id);
+    return id;
+  }
+}
@@ -0,0 +1,174 @@
+package de.feu.propra.reachability;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code StateStore} that keeps all markings outside of the Java heap, so
+ * large state spaces neither fill the heap nor prolong garbage collections.
+ * The markings are fixed width records in an arena of direct
+ * {@code ByteBuffer} chunks, the index is an open addressing hash table in a
+ * direct buffer as well. Only {@link #get(int)} allocates on the heap. The
+ * amount of usable memory is limited by the JVM option
+ * {@code -XX:MaxDirectMemorySize}.
+ * 
+ * @author j-hap 
+ *
+ */
+public class OffHeapStateStore implements StateStore {
+  private static final int CHUNK_BYTES = 1 << 26;
+  private static final int MAX_INDEX_CAPACITY = 1 << 28;
+  private static final int HASH_SEED = 0x9E3779B9;
+  private final int width;
+  private final int recordsPerChunk;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  // slot -> index + 1, 0 marks an empty slot
+  private IntBuffer table;
+  private int size = 0;
+
+  /**
+   * Constructs an empty {@code OffHeapStateStore} for markings of the given
+   * size.
+   * 
+   * @param placeCount Number of token counts per marking.
+   */
+  public OffHeapStateStore(int placeCount) {
+    width = placeCount;
+    recordsPerChunk = CHUNK_BYTES / Math.max(4, 4 * width);
+    table = allocateTable(1 << 12);
+  }
+
+  /**
+   * {@inheritDoc}
+   * 
+   * @throws IllegalStateException If the index can not grow any further.
+   */
+  @Override
+  public int add(int[] marking) {
+    if (2 * (size + 1) > table.capacity()) {
+      growTable();
+    }
+    var mask = table.capacity() - 1;
+    var slot = hash(marking) & mask;
+    int entry;
+    while ((entry = table.get(slot)) != 0) {
+      if (recordEquals(entry - 1, marking)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    var index = size++;
+    writeRecord(index, marking);
+    table.put(slot, index + 1);
+    return index;
+  }
+
+  /**
+   * {@inheritDoc} The returned array is a copy.
+   */
+  @Override
+  public int[] get(int index) {
+    var chunk = chunks.get(index / recordsPerChunk);
+    var offset = (index % recordsPerChunk) * 4 * width;
+    var marking = new int[width];
+    for (int i = 0; i < width; ++i) {
+      marking[i] = chunk.getInt(offset + 4 * i);
+    }
+    return marking;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * {@inheritDoc} The allocated chunks are kept for reuse.
+   */
+  @Override
+  public void clear() {
+    table = allocateTable(1 << 12);
+    size = 0;
+  }
+
+  private boolean recordEquals(int index, int[] marking) {
+    var chunk = chunks.get(index / recordsPerChunk);
+    var offset = (index % recordsPerChunk) * 4 * width;
+    for (int i = 0; i < width; ++i) {
+      if (chunk.getInt(offset + 4 * i) != marking[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void writeRecord(int index, int[] marking) {
+    if (index / recordsPerChunk == chunks.size()) {
+      chunks.add(ByteBuffer.allocateDirect(recordsPerChunk * 4 * width).order(ByteOrder.nativeOrder()));
+    }
+    var chunk = chunks.get(index / recordsPerChunk);
+    var offset = (index % recordsPerChunk) * 4 * width;
+    for (int i = 0; i < width; ++i) {
+      chunk.putInt(offset + 4 * i, marking[i]);
+    }
+  }
+
+  private void growTable() {
+    var oldTable = table;
+    if (oldTable.capacity() == MAX_INDEX_CAPACITY) {
+      throw new IllegalStateException("Off-heap state store is full.");
+    }
+    table = allocateTable(2 * oldTable.capacity());
+    var mask = table.capacity() - 1;
+    for (int i = 0; i < oldTable.capacity(); ++i) {
+      var entry = oldTable.get(i);
+      if (entry == 0) {
+        continue;
+      }
+      var slot = hashRecord(entry - 1) & mask;
+      while (table.get(slot) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table.put(slot, entry);
+    }
+  }
+
+  private static IntBuffer allocateTable(int capacity) {
+    return ByteBuffer.allocateDirect(4 * capacity).order(ByteOrder.nativeOrder()).asIntBuffer();
+  }
+
+  private int hashRecord(int index) {
+    var chunk = chunks.get(index / recordsPerChunk);
+    var offset = (index % recordsPerChunk) * 4 * width;
+    int h = HASH_SEED;
+    for (int i = 0; i < width; ++i) {
+      h = mix(h, chunk.getInt(offset + 4 * i));
+    }
+    return finish(h);
+  }
+
+  private static int hash(int[] marking) {
+    int h = HASH_SEED;
+    for (var tokens : marking) {
+      h = mix(h, tokens);
+    }
+    return finish(h);
+  }
+
+  // spreads the bits, because linear probing needs well distributed low bits
+  private static int mix(int h, int tokens) {
+    h = (h ^ tokens) * 0x01000193;
+    return h ^ (h >>> 15);
+  }
+
+  private static int finish(int h) {
+    h *= 0x85EBCA6B;
+    return h ^ (h >>> 13);
+  }
+}
@@ -67,20 +67,37 @@ public class ReachabilityGraph {
    * @param newMarking Marking to be added to the graph.
    */
   public void addMarking(String edgeId, String edgeLabel, Marking oldMarking, Marking newMarking) {
-    LinkedMarking target;
-    if (nodes.containsKey(newMarking)) {
-      target = nodes.get(newMarking);
-    } else {
+    addMarking(edgeId, edgeLabel, oldMarking, newMarking, true);
+  }
+
+  /**
+   * Adds a marking to the graph and creates the necessary connections. Allows
+   * to skip the unboundedness check, for callers that check the explored
+   * markings themselves and report the result through
+   * {@link #markUnbounded(Marking, Marking)}.
+   * 
+   * @param edgeId     ID of the edge that lead to the new {@code Marking}.
+   * @param edgeLabel  Label of the edge that lead to the new {@code Marking}.
+   * @param oldMarking Marking that was active before the newly added one.
+   * @param newMarking Marking to be added to the graph.
+   * @param checkBound True if the new edge shall be checked for unboundedness.
+   */
+  public void addMarking(String edgeId, String edgeLabel, Marking oldMarking, Marking newMarking,
+      boolean checkBound) {
+    var target = nodes.get(newMarking);
+    if (target == null) {
       target = new LinkedMarking(newMarking);
       nodes.put(newMarking, target);
     }
     var source = nodes.get(oldMarking);
     var e = new Edge<LinkedMarking>(edgeId, target);
     if (!source.hasOutEdge(e)) {
-      source.addOutEdge(edgeId, target);
-      target.addInEdge(edgeId, nodes.get(oldMarking));
+      source.addOutEdge(e);
+      target.addInEdge(edgeId, source);
       listeners.forEach(l -> l.edgeAdded(edgeId, edgeLabel, oldMarking, newMarking));
-      checkUnbound(newMarking);
+      if (checkBound) {
+        checkUnbound(newMarking);
+      }
     }
     listeners.forEach(l -> l.activeMarkingChanged(newMarking));
     listeners.forEach(l -> l.edgeVisited(oldMarking, edgeId));
@@ -166,6 +183,21 @@ public class ReachabilityGraph {
     return isBounded;
   }
 
+  /**
+   * Marks the graph as unbounded, with a pair of {@code Marking}s that was found
+   * outside of the graph.
+   * 
+   * @param m      The smaller {@code Marking} of the pair.
+   * @param mPrime The bigger {@code Marking} of the pair, reachable from m.
+   * @see Marking#compareTo(Marking)
+   */
+  public void markUnbounded(Marking m, Marking mPrime) {
+    isBounded = false;
+    unboundedMarkings.clear();
+    unboundedMarkings.add(m);
+    unboundedMarkings.add(mPrime);
+  }
+
   /**
    * @return A List of Markings that match the m &lt;-&gt; m' relation.
    * @see Marking#compareTo(Marking)
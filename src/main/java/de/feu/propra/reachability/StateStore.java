@@ -0,0 +1,55 @@
+package de.feu.propra.reachability;
+
+/**
+ * Storage for the distinct markings of a state space. Each added marking gets a
+ * dense index, starting at 0 in order of insertion, by which it can be
+ * retrieved.
+ * 
+ * @author j-hap 
+ *
+ */
+public interface StateStore extends VisitedSet {
+
+  /**
+   * Adds a marking if it is not yet present.
+   * 
+   * @param marking The token counts to add. Must not be modified afterwards.
+   * @return The index of the marking, either the existing one or the newly
+   *         assigned one, which equals the size before the call.
+   */
+  int add(int[] marking);
+
+  /**
+   * @param index Index of a stored marking.
+   * @return The token counts of the stored marking. Must not be modified.
+   */
+  int[] get(int index);
+
+  /**
+   * @return The number of stored markings.
+   */
+  int size();
+
+  /**
+   * Removes all markings, so indices start at 0 again.
+   */
+  @Override
+  void clear();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  default boolean visit(int[] marking) {
+    var size = size();
+    return add(marking) == size;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  default long count() {
+    return size();
+  }
+}
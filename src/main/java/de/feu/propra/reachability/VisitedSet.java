@@ -0,0 +1,48 @@
+package de.feu.propra.reachability;
+
+/**
+ * The set of markings a state space search has already visited. Unlike a
+ * {@code StateStore} it need not keep the markings themselves, so an
+ * implementation may trade exactness for memory.
+ * 
+ * @author j-hap 
+ *
+ */
+public interface VisitedSet {
+
+  /**
+   * Marks the given marking as visited.
+   * 
+   * @param marking The token counts to add. Must not be modified afterwards.
+   * @return True if the marking was not visited before. An inexact
+   *         implementation may return false for a new marking.
+   */
+  boolean visit(int[] marking);
+
+  /**
+   * @return The number of markings for which {@link #visit(int[])} returned
+   *         true.
+   */
+  long count();
+
+  /**
+   * Removes all markings.
+   */
+  void clear();
+
+  /**
+   * @return True if {@link #visit(int[])} never mistakes a new marking for a
+   *         visited one.
+   */
+  default boolean isExact() {
+    return true;
+  }
+
+  /**
+   * @return The expected number of new markings that {@link #visit(int[])}
+   *         mistook for visited ones, 0 for an exact implementation.
+   */
+  default double expectedOmissions() {
+    return 0;
+  }
+}
@@ -0,0 +1,30 @@
+package de.feu.propra.solver;
+
+/**
+ * Tells how the verdict of a {@code BoundednessSolverResult} was reached.
+ * 
+ * @author j-hap 
+ *
+ */
+public enum AnalysisMethod {
+  /**
+   * The state space was explored, node and edge count are known.
+   */
+  EXPLORATION,
+  /**
+   * The net was proven bounded by a strictly positive place invariant, no
+   * marking was explored.
+   */
+  PLACE_INVARIANT,
+  /**
+   * The net was proven unbounded by firing an increasing repetitive T-vector,
+   * no state space was explored beyond the reported path.
+   */
+  REPETITIVE_VECTOR,
+  /**
+   * The boundedness was decided by a polynomial check for the
+   * {@code NetClass} of the net. For unbounded nets the pair of m &lt;-&gt; m'
+   * markings was found by firing a repetitive T-vector.
+   */
+  NET_CLASS;
+}
@@ -1,9 +1,18 @@
 package de.feu.propra.solver;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.feu.propra.petrinet.PetriNet;
@@ -19,6 +28,28 @@ import de.feu.propra.ui.Settings;
 public class BatchSolver {
   private List<BoundednessSolverResult> results = new ArrayList<>();
   private File[] files;
+  private StorageMode storageMode = StorageMode.HEAP;
+  private int parallelism = 1;
+  private int fileParallelism = 1;
+  private boolean analyzePlaceBounds = false;
+  private boolean reduce = false;
+  private boolean useSymmetries = false;
+  private boolean symbolic = false;
+  private boolean checkStructure = false;
+  private boolean reduceNet = false;
+  private boolean classifyNet = false;
+  private long timeLimit = 0;
+  private long stateLimit = 0;
+  private double heapLimit = 0;
+  private long bitstateBytes = BoundednessSolver.defaultBitstateMemory();
+  private ResultCache cache;
+  private List<ResultSink> sinks = new ArrayList<>();
+  private boolean retainResults = true;
+  // the solvers of the files that are being checked, for progress and
+  // cancellation from other threads
+  private Set<BoundednessSolver> runningSolvers = ConcurrentHashMap.newKeySet();
+  private Set<SymbolicSolver> runningSymbolicSolvers = ConcurrentHashMap.newKeySet();
+  private volatile boolean isCancelled;
   private static final Logger logger = Logger.getLogger(BatchSolver.class.getName());
   private static final ResourceBundle bundle = ResourceBundle.getBundle("langs.labels", Settings.getLocale());
 
@@ -32,12 +63,320 @@ public class BatchSolver {
   }
 
   /**
-   * Runs {@code BoundednessSolver} check on all files.
+   * Selects where the {@code BoundednessSolver} keeps the explored markings.
+   *
+   * @param mode The new {@code StorageMode}, {@code StorageMode.HEAP} by
+   *             default.
+   */
+  public void setStorageMode(StorageMode mode) {
+    storageMode = mode;
+  }
+
+  /**
+   * Sets the memory all bit arrays of {@code StorageMode.BITSTATE} may take
+   * together. It is divided among the files that are checked at the same
+   * time.
+   * 
+   * @param bytes The memory of all bit arrays,
+   *              {@link BoundednessSolver#defaultBitstateMemory()} by default.
+   * @see #setFileParallelism(int)
+   */
+  public void setBitstateMemory(long bytes) {
+    bitstateBytes = bytes;
+  }
+
+  /**
+   * Sets the number of threads the {@code BoundednessSolver} uses to explore
+   * the state space of a single file.
+   * 
+   * @param threads The number of threads, 1 by default.
+   * @see BoundednessSolver#setParallelism(int)
+   */
+  public void setParallelism(int threads) {
+    parallelism = threads;
+  }
+
+  /**
+   * Sets the number of files that are checked at the same time, each on its
+   * own thread. The results keep the order of the files. The messages of each
+   * file are logged together, once the files before it are done, except for
+   * the warnings of the parser and the errors of failed checks. Each file gets
+   * the full budgets.
+   * 
+   * @param threads The number of files checked at the same time, 1 by default.
+   */
+  public void setFileParallelism(int threads) {
+    fileParallelism = threads;
+  }
+
+  /**
+   * Determines if the state space of each file is reduced with stubborn sets.
+   * 
+   * @param enabled The new state of the partial order reduction.
+   * @see BoundednessSolver#setPartialOrderReduction(boolean)
+   */
+  public void setPartialOrderReduction(boolean enabled) {
+    reduce = enabled;
+  }
+
+  /**
+   * Determines if symmetric markings are explored only once for each file.
+   * 
+   * @param enabled The new state of the symmetry reduction.
+   * @see BoundednessSolver#setSymmetryReduction(boolean)
+   */
+  public void setSymmetryReduction(boolean enabled) {
+    useSymmetries = enabled;
+  }
+
+  /**
+   * Determines if the files are checked by the {@code SymbolicSolver} instead
+   * of the {@code BoundednessSolver}. The other settings are ignored then.
+   * 
+   * @param enabled The new state of the symbolic state space exploration.
+   */
+  public void setSymbolic(boolean enabled) {
+    symbolic = enabled;
+  }
+
+  /**
+   * Determines if the net structure of each file is analyzed before its state
+   * space is explored.
+   * 
+   * @param enabled The new state of the structural check.
+   * @see BoundednessSolver#setStructuralCheck(boolean)
+   */
+  public void setStructuralCheck(boolean enabled) {
+    checkStructure = enabled;
+  }
+
+  /**
+   * Determines if the boundedness of each net is checked by the polynomial
+   * check of its {@code NetClass} first.
+   * 
+   * @param enabled The new state of the net class analysis.
+   * @see BoundednessSolver#setNetClassAnalysis(boolean)
+   */
+  public void setNetClassAnalysis(boolean enabled) {
+    classifyNet = enabled;
+  }
+
+  /**
+   * Determines if each net is reduced before its state space is explored.
+   * 
+   * @param enabled The new state of the net reduction.
+   * @see BoundednessSolver#setNetReduction(boolean)
+   */
+  public void setNetReduction(boolean enabled) {
+    reduceNet = enabled;
+  }
+
+  /**
+   * Determines if the bound of each {@code Place} is reported for every file.
+   * 
+   * @param analyze The new state of the place bound analysis.
+   * @see BoundednessSolver#setPlaceBoundAnalysis(boolean)
+   */
+  public void setPlaceBoundAnalysis(boolean analyze) {
+    analyzePlaceBounds = analyze;
+  }
+
+  /**
+   * Limits the wall time of the check of each file. Also applies to the
+   * {@code SymbolicSolver}.
+   * 
+   * @param milliseconds The time budget per file, 0 for no limit.
+   * @see BoundednessSolver#setTimeLimit(long)
+   * @see SymbolicSolver#setTimeLimit(long)
+   */
+  public void setTimeLimit(long milliseconds) {
+    timeLimit = milliseconds;
+  }
+
+  /**
+   * Limits the number of markings that are explored for each file.
+   * 
+   * @param markings The state budget per file, 0 for no limit.
+   * @see BoundednessSolver#setStateLimit(long)
+   */
+  public void setStateLimit(long markings) {
+    stateLimit = markings;
+  }
+
+  /**
+   * Limits the share of the maximal heap size the check of each file may
+   * fill. The state and heap budgets do not apply to the
+   * {@code SymbolicSolver}.
+   * 
+   * @param fraction The memory budget between 0 and 1, 0 for no limit.
+   * @see BoundednessSolver#setHeapLimit(double)
+   */
+  public void setHeapLimit(double fraction) {
+    heapLimit = fraction;
+  }
+
+  /**
+   * Selects a {@code ResultCache} that is looked up before each file is
+   * solved. Files of the same content that were solved with the same settings
+   * before are neither parsed nor solved again. Only complete results are
+   * stored, the budgets are not part of the settings.
+   * 
+   * @param resultCache The cache, null for no caching, the default.
+   */
+  public void setResultCache(ResultCache resultCache) {
+    cache = resultCache;
+  }
+
+  /**
+   * Adds a {@code ResultSink} that receives the result of each file as soon as
+   * it and the results of all files before it are available.
+   * 
+   * @param sink The sink to add.
+   */
+  public void addResultSink(ResultSink sink) {
+    sinks.add(sink);
+  }
+
+  /**
+   * Determines if the results are kept for {@link #getResults()} and
+   * {@link #printResults()}. Disabling it keeps the memory constant for large
+   * batches whose results are only written to {@code ResultSink}s. Enabled by
+   * default.
+   * 
+   * @param retain The new state of the result retention.
+   */
+  public void setResultRetention(boolean retain) {
+    retainResults = retain;
+  }
+
+  /**
+   * Runs {@code BoundednessSolver} check on all files. A file whose check
+   * fails, e.g. because it cannot be read or parsed, gets a result of status
+   * {@code SolverStatus.ERROR} and the remaining files are checked anyway.
    */
   public void solve() {
-    for (var f : files) {
-      checkSingleFile(f);
+    try {
+      if (fileParallelism > 1) {
+        solveConcurrently();
+        return;
+      }
+      for (var f : files) {
+        if (isCancelled) {
+          break;
+        }
+        publish(checkSingleFile(f, logger::info));
+      }
+    } finally {
+      sinks.forEach(ResultSink::finish);
+    }
+  }
+
+  private void publish(BoundednessSolverResult result) {
+    if (retainResults) {
+      results.add(result);
+    }
+    for (var s : sinks) {
+      s.accept(result);
+    }
+  }
+
+  private void solveConcurrently() {
+    var executor = Executors.newFixedThreadPool(fileParallelism, r -> {
+      var thread = new Thread(r, "batch-solver");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      var checks = new ArrayList<Future<FileCheck>>();
+      for (var f : files) {
+        checks.add(executor.submit(() -> checkBuffered(f)));
+      }
+      // the files are started in order, so all files after the first skipped
+      // one are skipped as well
+      for (int i = 0; i < checks.size(); ++i) {
+        var check = checks.get(i).get();
+        if (check == null) {
+          break;
+        }
+        // the published result is not kept here
+        checks.set(i, null);
+        for (var m : check.messages) {
+          logger.info(m);
+        }
+        publish(check.result);
+      }
+    } catch (InterruptedException e) {
+      cancel();
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // the files that are still running would only keep the pool busy
+      cancel();
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  // null if the batch was cancelled before the file was started
+  private FileCheck checkBuffered(File f) {
+    if (isCancelled) {
+      return null;
+    }
+    var messages = new ArrayList<String>();
+    var result = checkSingleFile(f, messages::add);
+    return new FileCheck(result, messages);
+  }
+
+  private record FileCheck(BoundednessSolverResult result, List<String> messages) {
+  }
+
+  /**
+   * Makes a running {@link #solve()} return as soon as possible. The files that
+   * are being checked get a cancelled {@code BoundednessSolverResult}, the
+   * remaining files are skipped. May be called from another thread.
+   * 
+   * @see BoundednessSolver#cancel()
+   */
+  public void cancel() {
+    isCancelled = true;
+    runningSolvers.forEach(BoundednessSolver::cancel);
+    runningSymbolicSolvers.forEach(SymbolicSolver::cancel);
+  }
+
+  /**
+   * May be called from another thread while {@link #solve()} runs.
+   * 
+   * @return The progress of the files that are being checked, summed up. The
+   *         elapsed time is that of the longest running file.
+   * @see BoundednessSolver#getProgress()
+   */
+  public SolverProgress getProgress() {
+    long nodes = 0;
+    long edges = 0;
+    long pending = 0;
+    long elapsed = 0;
+    for (var solver : runningSolvers) {
+      var p = solver.getProgress();
+      nodes += p.nodeCount;
+      edges += p.edgeCount;
+      pending += p.pendingCount;
+      elapsed = Math.max(elapsed, p.elapsedMillis);
     }
+    return new SolverProgress(nodes, edges, pending, elapsed);
+  }
+
+  /**
+   * @return The results of the files checked so far, in the order of the
+   *         files.
+   */
+  public List<BoundednessSolverResult> getResults() {
+    return Collections.unmodifiableList(results);
   }
 
   /**
@@ -47,13 +386,92 @@ public class BatchSolver {
     logger.info(new ResultsFormatter().format(results).toString());
   }
 
-  private void checkSingleFile(File f) {
-    logger.info(bundle.getString("Checking") + " " + f.getName());
-    var net = new PetriNet(f);
-    var solver = new BoundednessSolver(net);
-    var res = solver.solve();
+  private BoundednessSolverResult checkSingleFile(File f, Consumer<String> log) {
+    log.accept(bundle.getString("Checking") + " " + f.getName());
+    var key = cache == null ? null : keyOf(f);
+    var res = key == null ? null : cache.get(key);
+    if (res == null) {
+      try {
+        // the PetriNet would only warn and check an empty net
+        if (!f.isFile() || !f.canRead()) {
+          throw new IllegalArgumentException(String.format(bundle.getString("file_not_readable"), f.getPath()));
+        }
+        var net = new PetriNet(f);
+        res = symbolic ? solveSymbolically(net) : solveExplicitly(net);
+      } catch (RuntimeException | OutOfMemoryError e) {
+        // a broken file must not end the whole batch, the net and the explored
+        // markings are unreachable by now
+        logger.log(Level.SEVERE, String.format(bundle.getString("file_error"), f.getName()), e);
+        res = new BoundednessSolverResult();
+        res.status = SolverStatus.ERROR;
+        res.isBounded = null;
+      }
+      if (key != null && res.status == SolverStatus.COMPLETE) {
+        cache.put(key, res);
+      }
+    }
     res.file = f;
-    results.add(res);
-    logger.info(res.toString());
+    log.accept(res.toString());
+    return res;
+  }
+
+  // null if the file cannot be read, the PetriNet reports that
+  private String keyOf(File f) {
+    try {
+      return cache.keyOf(f, describeSettings());
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  // all settings that influence a complete result
+  private String describeSettings() {
+    if (symbolic) {
+      return "symbolic";
+    }
+    return String.join(",", storageMode.toString(), "parallelism=" + parallelism,
+        "placeBounds=" + analyzePlaceBounds, "por=" + reduce, "symmetry=" + useSymmetries,
+        "structural=" + checkStructure, "reduction=" + reduceNet, "netClass=" + classifyNet)
+        + (storageMode == StorageMode.BITSTATE ? ",bits=" + bitstateBytes / fileParallelism * 8 : "");
+  }
+
+  private BoundednessSolverResult solveSymbolically(PetriNet net) {
+    var solver = new SymbolicSolver(net);
+    solver.setTimeLimit(timeLimit);
+    runningSymbolicSolvers.add(solver);
+    if (isCancelled) {
+      solver.cancel();
+    }
+    try {
+      return solver.solve();
+    } finally {
+      runningSymbolicSolvers.remove(solver);
+    }
+  }
+
+  private BoundednessSolverResult solveExplicitly(PetriNet net) {
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setStorageMode(storageMode);
+    solver.setBitstateMemory(bitstateBytes / fileParallelism);
+    solver.setParallelism(parallelism);
+    solver.setPlaceBoundAnalysis(analyzePlaceBounds);
+    solver.setPartialOrderReduction(reduce);
+    solver.setSymmetryReduction(useSymmetries);
+    solver.setStructuralCheck(checkStructure);
+    solver.setNetReduction(reduceNet);
+    solver.setNetClassAnalysis(classifyNet);
+    solver.setTimeLimit(timeLimit);
+    solver.setStateLimit(stateLimit);
+    solver.setHeapLimit(heapLimit);
+    runningSolvers.add(solver);
+    if (isCancelled) {
+      solver.cancel();
+    }
+    try {
+      return solver.solve();
+    } finally {
+      runningSolvers.remove(solver);
+    }
   }
 }
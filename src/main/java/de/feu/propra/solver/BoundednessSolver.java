@@ -1,26 +1,76 @@
 package de.feu.propra.solver;
 
-import java.util.HashSet;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.petrinet.NetReduction;
 import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.petrinet.PlaceInvariants;
+import de.feu.propra.reachability.BitstateSet;
+import de.feu.propra.reachability.FingerprintSet;
+import de.feu.propra.reachability.HeapStateStore;
 import de.feu.propra.reachability.Marking;
+import de.feu.propra.reachability.MinimalCoverabilitySet;
+import de.feu.propra.reachability.OffHeapStateStore;
 import de.feu.propra.reachability.ReachabilityGraph;
+import de.feu.propra.reachability.VisitedSet;
 
 /**
  * The {@code BoundednessSolver} is a utility class to run a boundedness check
- * on an existing PetriNet.
+ * on an existing PetriNet. The state space is explored on a
+ * {@code CompiledNet}, so the {@code PetriNet} model is not modified during
+ * the search.
  * 
  * @author j-hap 
  *
  */
 public class BoundednessSolver {
+  // k of the bitstate hashing, few hashes keep the bit array sparse for long
+  private static final int BITSTATE_HASH_COUNT = 3;
+  // 128 MiB
+  private static final long MAX_BITSTATE_BYTES = 1L << 27;
+  // how often the budgets are checked while the solver runs
+  private static final long BUDGET_CHECK_INTERVAL_MS = 10;
   private PetriNet net;
   private ReachabilityGraph rGraph;
-  private Set<Marking> visitedMarkings = new HashSet<>();;
   private BoundednessSolverResult result;
-  private Stack<String> currentPath = new Stack<>();
+  private boolean recordGraph = true;
+  private StorageMode storageMode = StorageMode.HEAP;
+  private int parallelism = 1;
+  private boolean analyzePlaceBounds = false;
+  private boolean reduce = false;
+  private boolean useSymmetries = false;
+  private boolean checkStructure = false;
+  private boolean reduceNet = false;
+  private boolean classifyNet = false;
+  private VisitedSet visited;
+  private Path temporaryDirectory;
+  private long timeLimit = 0;
+  private long stateLimit = 0;
+  private double heapLimit = 0;
+  private long bitstateBytes = defaultBitstateMemory();
+  // the running search and the solver of a reduced net, for progress and
+  // cancellation from other threads
+  private volatile Explorer explorer;
+  private volatile BoundednessSolver reducedSolver;
+  private volatile boolean isCancelled;
+  private volatile SolverStatus stopReason;
+  private volatile long startTime;
+  private long heapUsedAtStart;
+  private long collectionsAtStart;
 
   /**
    * Creates a {@code BoundednessSolver}, that operates on the given model.
@@ -35,38 +85,565 @@ public class BoundednessSolver {
     result = new BoundednessSolverResult();
   }
 
+  /**
+   * Determines if the explored markings are added to the
+   * {@code ReachabilityGraph} of the {@code PetriNet}, e.g. to display them.
+   * Enabled by default. Disabling it saves time and memory when only the
+   * {@code BoundednessSolverResult} is of interest.
+   * 
+   * @param record The new state of the graph recording.
+   */
+  public void setGraphRecording(boolean record) {
+    recordGraph = record;
+  }
+
+  /**
+   * Selects where the explored markings are kept. With
+   * {@code StorageMode.BITSTATE} or {@code StorageMode.HASH_COMPACTION} the
+   * {@code BoundednessSolverResult} is probabilistic, unless the net is found
+   * to be unbounded.
+   *
+   * @param mode The new {@code StorageMode}, {@code StorageMode.HEAP} by
+   *             default.
+   */
+  public void setStorageMode(StorageMode mode) {
+    storageMode = mode;
+  }
+
+  /**
+   * Sets the size of the bit array of {@code StorageMode.BITSTATE}. The larger
+   * the array, the fewer markings are skipped. Solvers that run at the same
+   * time each allocate their own array.
+   * 
+   * @param bytes The size of the bit array, {@link #defaultBitstateMemory()}
+   *              by default.
+   */
+  public void setBitstateMemory(long bytes) {
+    bitstateBytes = bytes;
+  }
+
+  /**
+   * @return The default size of the bit array of {@code StorageMode.BITSTATE}
+   *         in bytes, a quarter of the maximal heap size, but 128 MiB at most.
+   */
+  public static long defaultBitstateMemory() {
+    return Math.min(MAX_BITSTATE_BYTES, Runtime.getRuntime().maxMemory() / 4);
+  }
+
+  /**
+   * Selects the directory in which the files of {@code StorageMode.EXTERNAL}
+   * are created. They are deleted when the search ends.
+   * 
+   * @param directory An existing directory on a fast local disk, the default
+   *                  temporary directory if null.
+   */
+  public void setTemporaryDirectory(Path directory) {
+    temporaryDirectory = directory;
+  }
+
+  /**
+   * Sets the number of threads that explore the state space. Values greater
+   * than one select a work stealing search that keeps the explored markings on
+   * the heap, regardless of the {@code StorageMode}. It is not used while the
+   * graph recording is enabled, because the {@code ReachabilityGraph} must be
+   * filled by a single thread.
+   * 
+   * @param threads The number of threads, 1 by default.
+   */
+  public void setParallelism(int threads) {
+    parallelism = threads;
+  }
+
+  /**
+   * Determines if the state space is reduced with stubborn sets, so that
+   * independent {@code Transition}s are not fired in every order. The verdict is
+   * the same as without reduction, but node and edge count as well as the
+   * reported pair of markings refer to the reduced state space. Has no effect on
+   * the parallel search. Disabled by default.
+   * 
+   * @param enabled The new state of the partial order reduction.
+   */
+  public void setPartialOrderReduction(boolean enabled) {
+    reduce = enabled;
+  }
+
+  /**
+   * Determines if markings that only differ by a symmetry of the net structure,
+   * e.g. a permutation of identical components, are explored only once. The
+   * verdict is the same as without reduction, but node and edge count as well
+   * as the reported pair of markings refer to the reduced state space. Has no
+   * effect on the parallel search. Disabled by default.
+   * 
+   * @param enabled The new state of the symmetry reduction.
+   */
+  public void setSymmetryReduction(boolean enabled) {
+    useSymmetries = enabled;
+  }
+
+  /**
+   * Determines if the net structure is analyzed before the state space is
+   * explored. A strictly positive place invariant proves the net bounded. An
+   * increasing repetitive T-vector that can be fired close to the initial
+   * marking proves it unbounded and yields the pair of m &lt;-&gt; m'
+   * markings. In both cases the exploration is skipped, so the
+   * {@code BoundednessSolverResult} has no node and edge count. Has no effect
+   * while the graph recording is enabled. Disabled by default.
+   * 
+   * @param enabled The new state of the structural check.
+   * @see PlaceInvariants
+   * @see RepetitiveVectorSearch
+   */
+  public void setStructuralCheck(boolean enabled) {
+    checkStructure = enabled;
+  }
+
+  /**
+   * Determines if the {@code NetClass} of the net is determined before its
+   * state space is explored. State machines and marked graphs are decided and
+   * free-choice nets covered by place invariants are proven bounded by
+   * polynomial checks, so the exploration is skipped and the
+   * {@code BoundednessSolverResult} has no node and edge count. For unbounded
+   * nets the pair of m &lt;-&gt; m' markings is taken from a
+   * {@code RepetitiveVectorSearch}, if that finds none the state space is
+   * explored after all. Has no effect while the graph recording is enabled.
+   * Disabled by default.
+   * 
+   * @param enabled The new state of the net class analysis.
+   * @see BoundednessSolverResult#netClass
+   */
+  public void setNetClassAnalysis(boolean enabled) {
+    classifyNet = enabled;
+  }
+
+  /**
+   * Determines if the net is simplified by a {@code NetReduction} before its
+   * state space is explored. The reduced net is a copy, so the
+   * {@code PetriNet} is not modified. Node and edge count refer to the reduced
+   * net, the path to the pair of m &lt;-&gt; m' markings is mapped back to the
+   * original {@code Transition}s and checked by firing it on the original net.
+   * If that fails, the original net is explored instead. Has no effect while
+   * the graph recording is enabled. Disabled by default.
+   * 
+   * @param enabled The new state of the net reduction.
+   * @see BoundednessSolverResult#reductions
+   */
+  public void setNetReduction(boolean enabled) {
+    reduceNet = enabled;
+  }
+
+  /**
+   * Determines if the bound of each {@code Place} is computed from the
+   * {@code MinimalCoverabilitySet} in addition to the boundedness check. This
+   * tells which {@code Place}s of an unbounded net are unbounded, but explores
+   * the state space a second time. Disabled by default.
+   * 
+   * @param analyze The new state of the place bound analysis.
+   * @see BoundednessSolverResult#placeBounds
+   */
+  public void setPlaceBoundAnalysis(boolean analyze) {
+    analyzePlaceBounds = analyze;
+  }
+
+  /**
+   * Limits the wall time of {@link #solve()}. When it is used up, the
+   * exploration stops with a {@code BoundednessSolverResult} of status
+   * {@code SolverStatus.TIME_LIMIT}. The structural checks are not
+   * interrupted. A place bound analysis that runs out of budget is dropped,
+   * the verdict is kept. No limit by default.
+   * 
+   * @param milliseconds The time budget, 0 for no limit.
+   */
+  public void setTimeLimit(long milliseconds) {
+    timeLimit = milliseconds;
+  }
+
+  /**
+   * Limits the number of markings that are explored. When it is reached, the
+   * exploration stops with a {@code BoundednessSolverResult} of status
+   * {@code SolverStatus.STATE_LIMIT}. The limit is checked every few
+   * milliseconds, so the node count may exceed it slightly. No limit by
+   * default.
+   * 
+   * @param markings The state budget, 0 for no limit.
+   */
+  public void setStateLimit(long markings) {
+    stateLimit = markings;
+  }
+
+  /**
+   * Limits the share of the maximal heap size the solver may fill. When the
+   * heap has grown by more since {@link #solve()} started, measured after a
+   * garbage collection, or the heap is exhausted, the exploration stops with a
+   * {@code BoundednessSolverResult} of status {@code SolverStatus.MEMORY_LIMIT}
+   * instead of an {@code OutOfMemoryError}. The heap is shared by all threads,
+   * so if several solvers with a heap limit run at the same time, only the one
+   * with the most markings is stopped. The markings of
+   * {@code StorageMode.OFF_HEAP} and {@code StorageMode.EXTERNAL} are not
+   * counted. No limit by default.
+   * 
+   * @param fraction The memory budget between 0 and 1, 0 for no limit.
+   */
+  public void setHeapLimit(double fraction) {
+    heapLimit = fraction;
+  }
+
+  /**
+   * Makes a running {@link #solve()} return as soon as possible, with a
+   * {@code BoundednessSolverResult} of status {@code SolverStatus.CANCELLED}.
+   * May be called from another thread, also before {@code solve()}.
+   */
+  public void cancel() {
+    stop(SolverStatus.CANCELLED);
+  }
+
+  // the first reason to stop is reported
+  private synchronized void stop(SolverStatus reason) {
+    if (stopReason == null) {
+      stopReason = reason;
+    }
+    isCancelled = true;
+    var current = explorer;
+    if (current != null) {
+      current.cancel();
+    }
+    var reduced = reducedSolver;
+    if (reduced != null) {
+      reduced.cancel();
+    }
+  }
+
+  /**
+   * May be called from another thread while {@link #solve()} runs.
+   * 
+   * @return The current progress of the state space exploration. Is zero
+   *         before the exploration starts.
+   */
+  public SolverProgress getProgress() {
+    var elapsed = startTime == 0 ? 0 : (System.nanoTime() - startTime) / 1_000_000;
+    var current = explorer;
+    if (current != null) {
+      return new SolverProgress(current.getNodeCount(), current.getEdgeCount(), current.getPendingCount(), elapsed);
+    }
+    var reduced = reducedSolver;
+    if (reduced != null) {
+      return reduced.getProgress();
+    }
+    return new SolverProgress(0, 0, 0, elapsed);
+  }
+
   /**
    * Runs the Boundedness check on the associated {@code PetriNet} model.
    * 
    * @return The {@code BoundednessSolverResult} object with the solver results.
+   *         Only holds the statistics gathered so far if it was cancelled or
+   *         ran out of budget.
    */
   public BoundednessSolverResult solve() {
-    result.isBounded = solveRec();
-    if (!result.isBounded) {
-      result.problemPath = currentPath;
-      result.problemMarkings = rGraph.getUnboundedMarkings();
+    startTime = System.nanoTime();
+    ScheduledFuture<?> budgetCheck = null;
+    if (heapLimit > 0) {
+      heapUsedAtStart = usedHeapAfterCollection();
+      collectionsAtStart = collectionCount();
+      Watchdog.heapLimitedSolvers.add(this);
+    }
+    if (timeLimit > 0 || stateLimit > 0 || heapLimit > 0) {
+      budgetCheck = Watchdog.executor.scheduleAtFixedRate(this::checkBudget, BUDGET_CHECK_INTERVAL_MS,
+          BUDGET_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    var compiledNet = new CompiledNet(net);
+    try {
+      try {
+        var isSolved = !recordGraph && (classifyNet && analyzeNetClass(compiledNet)
+            || checkStructure && analyzeStructure(compiledNet) || reduceNet && solveReduced(compiledNet));
+        if (!isSolved && !isCancelled) {
+          explore(compiledNet);
+        }
+      } catch (OutOfMemoryError e) {
+        if (heapLimit <= 0) {
+          throw e;
+        }
+        stop(SolverStatus.MEMORY_LIMIT);
+        var progress = getProgress();
+        result.nodeCount = progress.nodeCount;
+        result.edgeCount = progress.edgeCount;
+      }
+      if (isCancelled) {
+        result.status = stopReason;
+        result.isBounded = null;
+        result.problemPath = null;
+        result.problemMarkings = new ArrayList<>();
+      }
+      if (analyzePlaceBounds && result.status == SolverStatus.COMPLETE) {
+        try {
+          result.placeBounds = computePlaceBounds(compiledNet);
+        } catch (CancellationException e) {
+          // the verdict stands, only the bounds are missing
+        }
+      }
+    } finally {
+      if (budgetCheck != null) {
+        budgetCheck.cancel(false);
+      }
+      Watchdog.heapLimitedSolvers.remove(this);
+    }
+    if (recordGraph) {
+      showFinalMarking();
     }
-    result.nodeCount = rGraph.getNodeCount();
-    result.edgeCount = rGraph.getEdgeCount();
     return result;
   }
 
-  // recursive depth first search
-  private boolean solveRec() {
-    var oldMarking = net.getMarking();
-    if (visitedMarkings.contains(oldMarking)) {
+  private void checkBudget() {
+    var progress = getProgress();
+    if (timeLimit > 0 && progress.elapsedMillis >= timeLimit) {
+      stop(SolverStatus.TIME_LIMIT);
+    } else if (stateLimit > 0 && progress.nodeCount >= stateLimit) {
+      stop(SolverStatus.STATE_LIMIT);
+    } else if (heapLimit > 0 && isHeapExceeded(progress)) {
+      stop(SolverStatus.MEMORY_LIMIT);
+    }
+  }
+
+  // the heap usage is only known for the whole process and as of the last
+  // garbage collection, so only a collection after the start counts, and of
+  // the solvers that run at the same time, the one with the most markings is
+  // taken as the cause
+  private boolean isHeapExceeded(SolverProgress progress) {
+    if (collectionCount() == collectionsAtStart) {
+      return false;
+    }
+    if (usedHeapAfterCollection() - heapUsedAtStart <= heapLimit * Runtime.getRuntime().maxMemory()) {
+      return false;
+    }
+    for (var other : Watchdog.heapLimitedSolvers) {
+      if (other != this && other.getProgress().nodeCount > progress.nodeCount) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long collectionCount() {
+    long count = 0;
+    for (var collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, collector.getCollectionCount());
+    }
+    return count;
+  }
+
+  // the heap usage right after the last garbage collection, which unlike the
+  // current usage does not count garbage
+  private static long usedHeapAfterCollection() {
+    long used = 0;
+    for (var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      var usage = pool.getCollectionUsage();
+      if (pool.getType() == MemoryType.HEAP && usage != null) {
+        used += usage.getUsed();
+      }
+    }
+    return used;
+  }
+
+  // true if the structure decides the boundedness
+  private boolean analyzeStructure(CompiledNet compiledNet) {
+    if (new PlaceInvariants(compiledNet).coversAllPlaces()) {
+      result.method = AnalysisMethod.PLACE_INVARIANT;
+      return true;
+    }
+    return searchWitness(compiledNet, AnalysisMethod.REPETITIVE_VECTOR);
+  }
+
+  // true if the net class decides the boundedness and a witness was found for
+  // unbounded nets
+  private boolean analyzeNetClass(CompiledNet compiledNet) {
+    var analysis = new NetClassAnalysis(compiledNet);
+    result.netClass = analysis.getNetClass();
+    if (!analysis.isDecided()) {
+      return false;
+    }
+    if (analysis.isBounded()) {
+      result.method = AnalysisMethod.NET_CLASS;
       return true;
     }
-    visitedMarkings.add(oldMarking);
-    for (var transitionId : net.getActiveTransitionIds()) {
-      net.triggerTransition(transitionId);
-      currentPath.add(transitionId);
-      if (!(net.isBounded() && solveRec())) {
+    return searchWitness(compiledNet, AnalysisMethod.NET_CLASS);
+  }
+
+  private boolean searchWitness(CompiledNet compiledNet, AnalysisMethod method) {
+    var search = new RepetitiveVectorSearch(compiledNet);
+    if (!search.search()) {
+      return false;
+    }
+    result.method = method;
+    result.isBounded = false;
+    result.problemPath = search.getProblemPath();
+    result.problemMarkings = search.getProblemMarkings();
+    return true;
+  }
+
+  // true if the reduced net was solved and its witness could be mapped back
+  private boolean solveReduced(CompiledNet compiledNet) {
+    var reduction = new NetReduction(net);
+    result.reductions = reduction.getAppliedRules();
+    if (!reduction.isReduced()) {
+      return false;
+    }
+    var solver = new BoundednessSolver(reduction.getReducedNet());
+    solver.setGraphRecording(false);
+    solver.setStorageMode(storageMode);
+    solver.setBitstateMemory(bitstateBytes);
+    solver.setTemporaryDirectory(temporaryDirectory);
+    solver.setParallelism(parallelism);
+    solver.setPartialOrderReduction(reduce);
+    solver.setSymmetryReduction(useSymmetries);
+    // the reduced net is explored on what is left of the budgets, its own
+    // watchdog stops it
+    if (timeLimit > 0) {
+      solver.setTimeLimit(Math.max(1, timeLimit - (System.nanoTime() - startTime) / 1_000_000));
+    }
+    solver.setStateLimit(stateLimit);
+    solver.setHeapLimit(heapLimit);
+    reducedSolver = solver;
+    if (isCancelled) {
+      solver.cancel();
+    }
+    var reduced = solver.solve();
+    if (reduced.status != SolverStatus.COMPLETE) {
+      // the verdict is left open by solve() with the same reason
+      stop(reduced.status);
+      result.nodeCount = reduced.nodeCount;
+      result.edgeCount = reduced.edgeCount;
+      return true;
+    }
+    if (!reduced.isBounded) {
+      var path = reduction.expandPath(reduced.problemPath);
+      var markings = replay(compiledNet, path);
+      if (markings == null) {
+        // the original net is explored, so nothing was reduced after all
+        result.reductions = List.of();
         return false;
       }
-      net.setMarking(oldMarking);
-      currentPath.pop();
+      result.problemPath = path;
+      result.problemMarkings = markings;
     }
+    result.isBounded = reduced.isBounded;
+    result.nodeCount = reduced.nodeCount;
+    result.edgeCount = reduced.edgeCount;
+    result.isProbabilistic = reduced.isProbabilistic;
+    result.coverage = reduced.coverage;
+    result.omissionProbability = reduced.omissionProbability;
     return true;
   }
+
+  // fires the path on the net and returns the last marking together with the
+  // nearest smaller one on the path, or null if there is none
+  private static List<Marking> replay(CompiledNet compiledNet, List<String> path) {
+    var index = new HashMap<String, Integer>();
+    for (int t = 0; t < compiledNet.getTransitionCount(); ++t) {
+      index.put(compiledNet.getTransitionId(t), t);
+    }
+    var markings = new ArrayList<int[]>();
+    markings.add(compiledNet.getInitialMarking());
+    for (var id : path) {
+      var marking = markings.get(markings.size() - 1);
+      var t = index.get(id);
+      if (!compiledNet.isEnabled(marking, t)) {
+        return null;
+      }
+      markings.add(compiledNet.fire(marking, t));
+    }
+    var last = markings.get(markings.size() - 1);
+    for (int i = markings.size() - 1; i-- > 0;) {
+      if (StateSpaceExplorer.isGreater(last, markings.get(i))) {
+        return List.of(Marking.wrap(markings.get(i)), Marking.wrap(last));
+      }
+    }
+    return null;
+  }
+
+  private void explore(CompiledNet compiledNet) {
+    var search = createExplorer(compiledNet);
+    explorer = search;
+    if (isCancelled) {
+      search.cancel();
+    }
+    result.isBounded = search.explore();
+    result.nodeCount = search.getNodeCount();
+    result.edgeCount = search.getEdgeCount();
+    if (search.isStopped() || isCancelled) {
+      // the verdict is meaningless, solve() marks the result as cancelled
+      return;
+    }
+    if (!result.isBounded) {
+      result.problemPath = search.getProblemPath();
+      result.problemMarkings = search.getProblemMarkings();
+    }
+    // the parallel search keeps its own exact store
+    if (result.isBounded && visited != null && !visited.isExact()) {
+      var omissions = visited.expectedOmissions();
+      result.isProbabilistic = true;
+      result.coverage = 1 - omissions / Math.max(1, visited.count());
+      result.omissionProbability = Math.min(1, omissions);
+    }
+  }
+
+  private LinkedHashMap<String, Integer> computePlaceBounds(CompiledNet compiledNet) {
+    var bounds = new MinimalCoverabilitySet(compiledNet, () -> isCancelled).getBounds();
+    var placeBounds = new LinkedHashMap<String, Integer>();
+    for (int i = 0; i < bounds.length; ++i) {
+      placeBounds.put(compiledNet.getPlaceId(i), bounds[i]);
+    }
+    return placeBounds;
+  }
+
+  private Explorer createExplorer(CompiledNet compiledNet) {
+    if (parallelism > 1 && !recordGraph) {
+      return new ParallelStateSpaceExplorer(compiledNet, parallelism);
+    }
+    if (storageMode == StorageMode.EXTERNAL && !recordGraph) {
+      return new ExternalStateSpaceExplorer(compiledNet, temporaryDirectory, ExternalStateSpaceExplorer.RUN_LENGTH);
+    }
+    visited = createVisitedSet(compiledNet);
+    var explorer = new StateSpaceExplorer(compiledNet, visited);
+    if (recordGraph) {
+      explorer.recordInto(rGraph);
+    }
+    if (reduce) {
+      explorer.reduce();
+    }
+    if (useSymmetries) {
+      explorer.useSymmetries(new Symmetries(compiledNet));
+    }
+    return explorer;
+  }
+
+  private VisitedSet createVisitedSet(CompiledNet compiledNet) {
+    return switch (storageMode) {
+    // the graph recording keeps all markings in memory anyway
+    case HEAP, EXTERNAL -> new HeapStateStore();
+    case OFF_HEAP -> new OffHeapStateStore(compiledNet.getPlaceCount());
+    // one word at least
+    case BITSTATE -> new BitstateSet(Math.max(64, bitstateBytes * 8), BITSTATE_HASH_COUNT);
+    case HASH_COMPACTION -> new FingerprintSet();
+    };
+  }
+
+  // leaves the model in the same state as triggering the transitions on it
+  // would have: at m' for unbounded nets, at the initial marking otherwise
+  private void showFinalMarking() {
+    if (!result.isUnbounded()) {
+      rGraph.markingChanged(net.getMarking());
+    } else {
+      net.setMarking(result.problemMarkings.get(1));
+    }
+  }
+
+  // checks the budgets of all running solvers, started on first use
+  private static class Watchdog {
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      var thread = new Thread(r, "solver-budget");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // the running solvers with a heap limit
+    private static final Set<BoundednessSolver> heapLimitedSolvers = ConcurrentHashMap.newKeySet();
+  }
 }
@@ -1,11 +1,14 @@
 package de.feu.propra.solver;
 
 import java.io.File;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.stream.Collectors;
 
+import de.feu.propra.petrinet.NetClass;
 import de.feu.propra.reachability.Marking;
 import de.feu.propra.ui.Settings;
 
@@ -16,25 +19,39 @@ import de.feu.propra.ui.Settings;
  * @author j-hap 
  *
  */
-public class BoundednessSolverResult {
+public class BoundednessSolverResult implements Serializable {
+  private static final long serialVersionUID = 1L;
   /**
-   * The {@code File} on which the {@code BoundednessSolver} was executed.
+   * The {@code File} on which the {@code BoundednessSolver} was executed. Is
+   * not serialized, because a {@code ResultCache} shares results between
+   * files of the same content.
    */
-  public File file;
+  public transient File file;
   /**
-   * The boundedness state.
+   * Tells if the solver reached a verdict. If not, the boundedness state is
+   * unknown and node and edge count are those reached so far.
    */
-  public boolean isBounded = true;
+  public SolverStatus status = SolverStatus.COMPLETE;
+  /**
+   * The boundedness state. Null if the status is not
+   * {@code SolverStatus.COMPLETE}, because the state is unknown then.
+   */
+  public Boolean isBounded = true;
+  /**
+   * How the boundedness state was determined. Node and edge count are zero if
+   * no state space was explored.
+   */
+  public AnalysisMethod method = AnalysisMethod.EXPLORATION;
   /**
    * The number of nodes in the reachability graph when the
    * {@code BoundednessSolver} terminated.
    */
-  public int nodeCount;
+  public long nodeCount;
   /**
    * The number of edges in the reachability graph, i.e. visited transitions of
    * the {@code PetriNet} when the {@code BoundednessSolver} terminated.
    */
-  public int edgeCount;
+  public long edgeCount;
   /**
    * The {@code Marking}s that violate the m &lt;-&gt; m' relation. Is null if the
    * {@code PetriNet} is bounded.
@@ -46,6 +63,48 @@ public class BoundednessSolverResult {
    * {@code PetriNet} is bounded.
    */
   public List<String> problemPath;
+  /**
+   * The maximal token count of each {@code Place}, by ID in alphabetical order.
+   * Unbounded {@code Place}s have a count of {@link Marking#OMEGA}. Is null if
+   * the place bound analysis was not enabled.
+   * 
+   * @see BoundednessSolver#setPlaceBoundAnalysis(boolean)
+   */
+  public Map<String, Integer> placeBounds;
+  /**
+   * The reduction rules applied to the {@code PetriNet} before its state space
+   * was explored. Node and edge count refer to the reduced net. Is null if the
+   * net reduction was not enabled.
+   * 
+   * @see BoundednessSolver#setNetReduction(boolean)
+   */
+  public List<String> reductions;
+  /**
+   * The structural class of the {@code PetriNet}. Is null if the net class
+   * analysis was not enabled.
+   * 
+   * @see BoundednessSolver#setNetClassAnalysis(boolean)
+   */
+  public NetClass netClass;
+  /**
+   * True if the {@code PetriNet} was found bounded while the visited markings
+   * were kept in an inexact {@code VisitedSet}. Parts of the state space may
+   * have been skipped, so the verdict is only probable and node and edge count
+   * are lower bounds.
+   * 
+   * @see StorageMode#BITSTATE
+   */
+  public boolean isProbabilistic;
+  /**
+   * The estimated share of the state space that was explored, between 0 and 1.
+   * Is 1 unless the result is probabilistic.
+   */
+  public double coverage = 1;
+  /**
+   * An upper bound of the probability that any marking was skipped, between 0
+   * and 1. Is 0 unless the result is probabilistic.
+   */
+  public double omissionProbability;
   private static final ResourceBundle bundle = ResourceBundle.getBundle("langs.labels", Settings.getLocale());
 
   /**
@@ -57,8 +116,11 @@ public class BoundednessSolverResult {
     var sb = new StringBuilder();
     sb.append(bundle.getString("Result")).append(":\n");
     sb.append("\t").append(bundle.getString("bounded")).append(": ");
-    if (isBounded) {
+    if (hasProof() && isBounded) {
       sb.append(bundle.getString("yes")).append("\n");
+      sb.append("\t").append(bundle.getString("Proof")).append(": ").append(describeProof(bundle)).append("\n");
+    } else if (!isUnbounded()) {
+      sb.append(describeVerdict(bundle)).append("\n");
       sb.append("\t").append(bundle.getString("Nodes")).append(": ").append(nodeCount).append("\n");
       sb.append("\t").append(bundle.getString("Edges")).append(": ").append(edgeCount).append("\n");
     } else {
@@ -69,6 +131,88 @@ public class BoundednessSolverResult {
       sb.append("\t").append("m").append(":  ").append(problemMarkings.get(0)).append("\n");
       sb.append("\t").append("m'").append(": ").append(problemMarkings.get(1)).append("\n");
     }
+    if (isProbabilistic) {
+      sb.append("\t").append(bundle.getString("Coverage")).append(": ")
+          .append(String.format("%.6f %%", 100 * coverage)).append("\n");
+      sb.append("\t").append(bundle.getString("Omission_probability")).append(": ")
+          .append(String.format("%.3g", omissionProbability)).append("\n");
+    }
+    if (placeBounds != null) {
+      sb.append("\t").append(bundle.getString("Place_bounds")).append(": ");
+      sb.append(placeBounds.entrySet().stream()
+          .map(e -> e.getKey() + "=" + (e.getValue() == Marking.OMEGA ? "\u03c9" : e.getValue()))
+          .collect(Collectors.joining(", "))).append("\n");
+    }
+    if (netClass != null) {
+      sb.append("\t").append(bundle.getString("Net_class")).append(": ").append(describeNetClass(bundle)).append("\n");
+    }
+    if (reductions != null) {
+      sb.append("\t").append(bundle.getString("Reductions")).append(": ").append(String.join(", ", reductions))
+          .append("\n");
+    }
     return sb.toString();
   }
+
+  /**
+   * @param labels The {@code ResourceBundle} to take the labels from.
+   * @return The boundedness state, marked as probable if it is not certain.
+   */
+  String describeVerdict(ResourceBundle labels) {
+    if (status != SolverStatus.COMPLETE) {
+      return labels.getString("unknown") + " (" + describeStatus(labels) + ")";
+    }
+    if (!isBounded) {
+      return labels.getString("no");
+    }
+    var yes = labels.getString("yes");
+    return isProbabilistic ? labels.getString("probably") + " " + yes : yes;
+  }
+
+  private String describeStatus(ResourceBundle labels) {
+    return switch (status) {
+    case CANCELLED -> labels.getString("cancelled");
+    case TIME_LIMIT -> labels.getString("time_limit");
+    case STATE_LIMIT -> labels.getString("state_limit");
+    case MEMORY_LIMIT -> labels.getString("memory_limit");
+    case ERROR -> labels.getString("error");
+    default -> status.toString();
+    };
+  }
+
+  /**
+   * @return True if the net was found to be unbounded, false if it is bounded
+   *         or the boundedness state is unknown.
+   */
+  boolean isUnbounded() {
+    return Boolean.FALSE.equals(isBounded);
+  }
+
+  /**
+   * @return True if the verdict was reached without exploring the state space.
+   */
+  boolean hasProof() {
+    return status == SolverStatus.COMPLETE && method != AnalysisMethod.EXPLORATION;
+  }
+
+  /**
+   * @param labels The {@code ResourceBundle} to take the labels from.
+   * @return A short description of how the verdict was reached without
+   *         exploring the state space.
+   */
+  String describeProof(ResourceBundle labels) {
+    return switch (method) {
+    case PLACE_INVARIANT -> labels.getString("Place_invariant");
+    case NET_CLASS -> labels.getString("Net_class") + " " + describeNetClass(labels);
+    default -> method.toString();
+    };
+  }
+
+  private String describeNetClass(ResourceBundle labels) {
+    return switch (netClass) {
+    case STATE_MACHINE -> labels.getString("state_machine");
+    case MARKED_GRAPH -> labels.getString("marked_graph");
+    case FREE_CHOICE -> labels.getString("free_choice");
+    case GENERAL -> labels.getString("general_net");
+    };
+  }
 }
@@ -0,0 +1,68 @@
+package de.feu.propra.solver;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes each {@code BoundednessSolverResult} as a row of comma separated
+ * values (RFC 4180), after a header row. The verdict is empty if the status is
+ * not {@code COMPLETE}, the path is separated by spaces.
+ * 
+ * @author j-hap 
+ *
+ */
+public class CsvResultSink extends LineResultSink {
+  private static final List<String> HEADER = List.of("file", "status", "bounded", "method", "nodes", "edges",
+      "path_length", "path", "m", "m_prime", "coverage");
+  private boolean hasHeader = false;
+
+  /**
+   * @param out The output the rows are appended to.
+   */
+  public CsvResultSink(Appendable out) {
+    super(out);
+  }
+
+  @Override
+  public void accept(BoundednessSolverResult result) {
+    writeHeader();
+    super.accept(result);
+  }
+
+  @Override
+  public void finish() {
+    // an empty batch still yields a valid file
+    writeHeader();
+  }
+
+  @Override
+  protected String format(BoundednessSolverResult r) {
+    var isUnbounded = r.isUnbounded();
+    var row = List.of(r.file.getPath(), r.status.toString(), r.isBounded == null ? "" : String.valueOf(r.isBounded),
+        r.method.toString(),
+        String.valueOf(r.nodeCount), String.valueOf(r.edgeCount),
+        isUnbounded ? String.valueOf(r.problemPath.size()) : "", isUnbounded ? String.join(" ", r.problemPath) : "",
+        isUnbounded ? r.problemMarkings.get(0).toString() : "",
+        isUnbounded ? r.problemMarkings.get(1).toString() : "", String.valueOf(r.coverage));
+    return join(row);
+  }
+
+  private void writeHeader() {
+    if (!hasHeader) {
+      writeLine(join(HEADER));
+      hasHeader = true;
+    }
+  }
+
+  private static String join(List<String> values) {
+    return values.stream().map(CsvResultSink::quote).collect(Collectors.joining(","));
+  }
+
+  // quotes only where needed
+  private static String quote(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+}
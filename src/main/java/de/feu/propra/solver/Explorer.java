@@ -0,0 +1,66 @@
+package de.feu.propra.solver;
+
+import java.util.List;
+
+import de.feu.propra.reachability.Marking;
+
+/**
+ * Common interface of the state space searches a {@code BoundednessSolver} can
+ * run.
+ * 
+ * @author j-hap 
+ *
+ */
+interface Explorer {
+
+  /**
+   * Runs the search.
+   * 
+   * @return True if no pair of m &lt;-&gt; m' markings was found, false
+   *         otherwise. Meaningless if the search was stopped, see
+   *         {@link #isStopped()}.
+   */
+  boolean explore();
+
+  /**
+   * @return True if the last {@link #explore()} returned before the search was
+   *         done, because of {@link #cancel()}. Node and edge count are those
+   *         reached so far then.
+   */
+  boolean isStopped();
+
+  /**
+   * @return The number of discovered markings.
+   */
+  long getNodeCount();
+
+  /**
+   * @return The number of fired transitions.
+   */
+  long getEdgeCount();
+
+  /**
+   * @return The IDs of the transitions that lead from the initial marking to
+   *         m'. Only meaningful after {@link #explore()} returned false.
+   */
+  List<String> getProblemPath();
+
+  /**
+   * @return The markings m and m'. Only meaningful after {@link #explore()}
+   *         returned false.
+   */
+  List<Marking> getProblemMarkings();
+
+  /**
+   * Makes a running {@link #explore()} return as soon as possible. May be
+   * called from another thread, also before the search is started.
+   */
+  void cancel();
+
+  /**
+   * May be called from another thread while {@link #explore()} runs.
+   * 
+   * @return The number of discovered markings that are not fully expanded yet.
+   */
+  long getPendingCount();
+}
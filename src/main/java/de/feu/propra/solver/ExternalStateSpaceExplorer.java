@@ -0,0 +1,709 @@
+package de.feu.propra.solver;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.reachability.Marking;
+
+/**
+ * Breadth first exploration of the state space of a {@code CompiledNet} that
+ * keeps only the current layer of markings in memory (external memory BFS).
+ * The successors of a layer are sorted in runs of bounded length, which are
+ * written to disk. Merging the runs and looking up the merged markings in the
+ * visited ones removes the duplicates (delayed duplicate detection) and
+ * yields the next layer. The visited markings are kept in sorted runs as
+ * well, a run is merged with the one before once it has grown as large, so
+ * there are only logarithmically many. Every {@value #FENCE_INTERVAL}-th marking of a run
+ * stays in memory, so a layer only reads the blocks of the runs its markings
+ * fall into. All files are read and written through {@code FileChannel}s and
+ * deleted after the search.
+ * <p>
+ * Each marking of a layer is stored together with the index of its parent in
+ * the layer before, so the markings form a tree, and with the componentwise
+ * minimum and the smallest token sum of its ancestors, like the prefix
+ * summaries of {@code StateSpaceExplorer}. After each layer, every new
+ * marking is compared with its ancestors in that tree, from the parent
+ * upwards as long as the summary of the remaining ancestors does not rule out
+ * that one of them is smaller. A finitely branching infinite tree has an
+ * infinite path, which contains a pair of m &lt;-&gt; m' markings, so the search finds
+ * one for every unbounded net. It may take many more layers than the depth
+ * first search though, so this explorer is meant for large bounded nets. For
+ * those, node and edge count are the same as with the other searches.
+ * 
+ * @author j-hap 
+ *
+ */
+class ExternalStateSpaceExplorer implements Explorer {
+  /**
+   * The default number of markings that are sorted in memory before they are
+   * written to disk.
+   */
+  static final int RUN_LENGTH = 1 << 20;
+  private static final int BUFFER_BYTES = 1 << 16;
+  // every FENCE_INTERVAL-th marking of a visited run is kept in memory
+  private static final int FENCE_INTERVAL = 1 << 10;
+  private final CompiledNet net;
+  private final Path parentDirectory;
+  private final int runLength;
+  private final int placeCount;
+  // a record holds the token counts, the index of the parent in the layer
+  // before, the transition that lead from the parent to the marking, the
+  // smallest count of each place over all ancestors and the smallest token
+  // sum of all ancestors in two ints
+  private final int recordLength;
+  private final int ancestorOffset;
+  private Path directory;
+  // the sorted runs of visited markings, from the largest to the smallest
+  private List<Run> visited;
+  private int fileCount;
+  private volatile long nodeCount;
+  private volatile long edgeCount;
+  private List<String> problemPath;
+  private List<Marking> problemMarkings;
+  private volatile long pendingCount;
+  private volatile boolean isCancelled;
+  private boolean isStopped;
+
+  /**
+   * Creates an explorer for the given net, starting at its initial marking.
+   * 
+   * @param net             The {@code CompiledNet} to explore.
+   * @param parentDirectory The directory in which a temporary directory for the
+   *                        files is created, or null for the default temporary
+   *                        directory.
+   * @param runLength       The number of markings that are sorted in memory
+   *                        before they are written to disk.
+   */
+  ExternalStateSpaceExplorer(CompiledNet net, Path parentDirectory, int runLength) {
+    this.net = net;
+    this.parentDirectory = parentDirectory;
+    this.runLength = runLength;
+    placeCount = net.getPlaceCount();
+    ancestorOffset = placeCount + 2;
+    recordLength = 2 * placeCount + 4;
+  }
+
+  /**
+   * {@inheritDoc}
+   * 
+   * @throws UncheckedIOException If a file cannot be written or read.
+   */
+  @Override
+  public boolean explore() {
+    try {
+      directory = parentDirectory == null ? Files.createTempDirectory("bfs")
+          : Files.createTempDirectory(parentDirectory, "bfs");
+      try {
+        return search();
+      } finally {
+        deleteDirectory();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void cancel() {
+    isCancelled = true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isStopped() {
+    return isStopped;
+  }
+
+  /**
+   * {@inheritDoc} These are the markings of the current layer.
+   */
+  @Override
+  public long getPendingCount() {
+    return pendingCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getEdgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<String> getProblemPath() {
+    return problemPath;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Marking> getProblemMarkings() {
+    return problemMarkings;
+  }
+
+  private boolean search() throws IOException {
+    var root = Arrays.copyOf(net.getInitialMarking(), recordLength);
+    setParent(root, -1, -1);
+    // without ancestors, nothing can be covered
+    Arrays.fill(root, ancestorOffset, ancestorOffset + placeCount, Integer.MAX_VALUE);
+    setAncestorSum(root, Long.MAX_VALUE);
+    var layers = new ArrayList<Path>();
+    layers.add(newFile());
+    var markings = new RunWriter(newFile());
+    try (var layer = new RecordWriter(layers.get(0), recordLength); markings) {
+      layer.write(root);
+      markings.write(root);
+    }
+    visited = new ArrayList<>();
+    visited.add(markings.toRun());
+    List<int[]> frontier = List.of(root);
+    nodeCount = 1;
+    edgeCount = 0;
+    while (!frontier.isEmpty()) {
+      pendingCount = frontier.size();
+      var runs = expand(frontier);
+      if (isCancelled) {
+        isStopped = true;
+        return true;
+      }
+      var layer = newFile();
+      merge(runs, layer);
+      for (var run : runs) {
+        Files.delete(run);
+      }
+      layers.add(layer);
+      frontier = readAll(layer);
+      nodeCount += frontier.size();
+      if (findWitness(frontier, layers)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // fires all enabled transitions and writes the successors to sorted runs
+  private List<Path> expand(List<int[]> frontier) throws IOException {
+    var runs = new ArrayList<Path>();
+    var successors = new ArrayList<int[]>();
+    for (int i = 0; i < frontier.size() && !isCancelled; ++i) {
+      var marking = frontier.get(i);
+      for (int t = 0; t < net.getTransitionCount(); ++t) {
+        if (!net.isEnabled(marking, t)) {
+          continue;
+        }
+        var next = net.fire(marking, t);
+        setParent(next, i, t);
+        setAncestors(next, marking);
+        successors.add(next);
+        ++edgeCount;
+        if (successors.size() == runLength) {
+          runs.add(writeRun(successors));
+          successors.clear();
+        }
+      }
+    }
+    if (!successors.isEmpty()) {
+      runs.add(writeRun(successors));
+    }
+    return runs;
+  }
+
+  // the sort is stable, so the first of equal markings has the smallest parent
+  private Path writeRun(List<int[]> records) throws IOException {
+    records.sort(this::compareMarkings);
+    var run = newFile();
+    try (var writer = new RecordWriter(run, recordLength)) {
+      int[] last = null;
+      for (var record : records) {
+        if (last == null || compareMarkings(record, last) != 0) {
+          writer.write(record);
+          last = record;
+        }
+      }
+    }
+    return run;
+  }
+
+  // merges the runs into the layer of markings that are not in a visited run
+  // and adds those as a new visited run
+  private void merge(List<Path> runs, Path layerFile) throws IOException {
+    // ties go to the earlier run, which holds the smaller parents
+    var queue = new PriorityQueue<RecordReader>(
+        Comparator.<RecordReader, int[]>comparing(r -> r.record, this::compareMarkings).thenComparingInt(r -> r.index));
+    var readers = new ArrayList<RecordReader>();
+    var cursors = new ArrayList<RunCursor>();
+    var markings = new RunWriter(newFile());
+    try (var layer = new RecordWriter(layerFile, recordLength); markings) {
+      for (var run : visited) {
+        cursors.add(new RunCursor(run));
+      }
+      for (var run : runs) {
+        var reader = new RecordReader(run, recordLength, readers.size());
+        readers.add(reader);
+        if (reader.next()) {
+          queue.add(reader);
+        }
+      }
+      var last = new int[recordLength];
+      var isFirst = true;
+      while (!queue.isEmpty()) {
+        var reader = queue.poll();
+        var record = reader.record;
+        if (isFirst || compareMarkings(record, last) != 0) {
+          if (!isVisited(record, cursors)) {
+            layer.write(record);
+            markings.write(record);
+          }
+          System.arraycopy(record, 0, last, 0, recordLength);
+          isFirst = false;
+        }
+        if (reader.next()) {
+          queue.add(reader);
+        }
+      }
+    } finally {
+      for (var reader : readers) {
+        reader.close();
+      }
+      for (var cursor : cursors) {
+        cursor.close();
+      }
+    }
+    if (markings.count == 0) {
+      Files.delete(markings.file);
+      return;
+    }
+    visited.add(markings.toRun());
+    compact();
+  }
+
+  // the markings must be passed in ascending order
+  private boolean isVisited(int[] marking, List<RunCursor> cursors) throws IOException {
+    for (var cursor : cursors) {
+      if (cursor.contains(marking)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // merges the smallest runs while the last one is not smaller than the one
+  // before, so each marking is rewritten a logarithmic number of times only
+  private void compact() throws IOException {
+    while (visited.size() > 1 && visited.get(visited.size() - 1).count >= visited.get(visited.size() - 2).count) {
+      var newer = visited.remove(visited.size() - 1);
+      var older = visited.remove(visited.size() - 1);
+      var merged = new RunWriter(newFile());
+      // the runs are disjoint
+      try (var a = new RecordReader(older.file, placeCount, 0);
+          var b = new RecordReader(newer.file, placeCount, 1);
+          merged) {
+        var hasA = a.next();
+        var hasB = b.next();
+        while (hasA || hasB) {
+          if (!hasB || hasA && compareMarkings(a.record, b.record) < 0) {
+            merged.write(a.record);
+            hasA = a.next();
+          } else {
+            merged.write(b.record);
+            hasB = b.next();
+          }
+        }
+      }
+      Files.delete(older.file);
+      Files.delete(newer.file);
+      visited.add(merged.toRun());
+    }
+  }
+
+  private List<int[]> readAll(Path file) throws IOException {
+    var records = new ArrayList<int[]>();
+    try (var reader = new RecordReader(file, recordLength, 0)) {
+      while (reader.next()) {
+        records.add(reader.record.clone());
+      }
+    }
+    return records;
+  }
+
+  // compares each marking of the last layer with its ancestors, layer by layer
+  // from the nearest one, and stores the first pair found
+  private boolean findWitness(List<int[]> frontier, List<Path> layers) throws IOException {
+    var sums = new long[frontier.size()];
+    // ancestor index in the high, frontier index in the low half
+    var pending = new long[frontier.size()];
+    var count = 0;
+    for (int i = 0; i < frontier.size(); ++i) {
+      var record = frontier.get(i);
+      sums[i] = tokenSum(record);
+      if (mayCoverAncestor(record, record, sums[i])) {
+        pending[count++] = pack(parentOf(record), i);
+      }
+    }
+    pending = Arrays.copyOf(pending, count);
+    for (int k = layers.size() - 2; k >= 0 && pending.length > 0; --k) {
+      Arrays.sort(pending);
+      var next = new long[pending.length];
+      var nextCount = 0;
+      var witness = -1;
+      int[] witnessAncestor = null;
+      try (var reader = new RecordReader(layers.get(k), recordLength, 0)) {
+        for (var item : pending) {
+          var ancestor = (int) (item >>> 32);
+          var descendant = (int) item;
+          if (!reader.skipTo(ancestor)) {
+            throw new EOFException();
+          }
+          var marking = frontier.get(descendant);
+          if (isGreater(marking, reader.record)) {
+            if (witness < 0 || descendant < witness) {
+              witness = descendant;
+              witnessAncestor = reader.record.clone();
+            }
+          } else if (mayCoverAncestor(reader.record, marking, sums[descendant])) {
+            next[nextCount++] = pack(parentOf(reader.record), descendant);
+          }
+        }
+      }
+      if (witness >= 0) {
+        storeWitness(frontier.get(witness), witnessAncestor, layers);
+        return true;
+      }
+      pending = Arrays.copyOf(next, nextCount);
+    }
+    return false;
+  }
+
+  private void storeWitness(int[] record, int[] ancestor, List<Path> layers) throws IOException {
+    var ids = new ArrayList<String>();
+    ids.add(net.getTransitionId(transitionOf(record)));
+    var parent = parentOf(record);
+    for (int k = layers.size() - 2; k > 0; --k) {
+      var predecessor = RecordReader.read(layers.get(k), recordLength, parent);
+      ids.add(net.getTransitionId(transitionOf(predecessor)));
+      parent = parentOf(predecessor);
+    }
+    Collections.reverse(ids);
+    problemPath = ids;
+    problemMarkings = List.of(Marking.wrap(Arrays.copyOf(ancestor, placeCount)),
+        Marking.wrap(Arrays.copyOf(record, placeCount)));
+  }
+
+  private int compareMarkings(int[] a, int[] b) {
+    return Arrays.compare(a, 0, placeCount, b, 0, placeCount);
+  }
+
+  // StateSpaceExplorer.isGreater on the token counts of two records
+  private boolean isGreater(int[] big, int[] small) {
+    var isBigger = false;
+    for (int i = 0; i < placeCount; ++i) {
+      if (big[i] < small[i]) {
+        return false;
+      }
+      isBigger |= big[i] > small[i];
+    }
+    return isBigger;
+  }
+
+  private void setParent(int[] record, int parent, int transition) {
+    record[placeCount] = parent;
+    record[placeCount + 1] = transition;
+  }
+
+  private int parentOf(int[] record) {
+    return record[placeCount];
+  }
+
+  private int transitionOf(int[] record) {
+    return record[placeCount + 1];
+  }
+
+  // the ancestors of a successor are the parent and its ancestors
+  private void setAncestors(int[] record, int[] parent) {
+    for (int i = 0; i < placeCount; ++i) {
+      record[ancestorOffset + i] = Math.min(parent[ancestorOffset + i], parent[i]);
+    }
+    setAncestorSum(record, Math.min(ancestorSumOf(parent), tokenSum(parent)));
+  }
+
+  private void setAncestorSum(int[] record, long sum) {
+    record[ancestorOffset + placeCount] = (int) (sum >>> 32);
+    record[ancestorOffset + placeCount + 1] = (int) sum;
+  }
+
+  private long ancestorSumOf(int[] record) {
+    return (long) record[ancestorOffset + placeCount] << 32 | (record[ancestorOffset + placeCount + 1] & 0xFFFFFFFFL);
+  }
+
+  private long tokenSum(int[] record) {
+    long sum = 0;
+    for (int i = 0; i < placeCount; ++i) {
+      sum += record[i];
+    }
+    return sum;
+  }
+
+  // false if the summary of the ancestors of the record rules out that the
+  // marking is greater than one of them, as m' > m requires more tokens in
+  // total and no smaller token count
+  private boolean mayCoverAncestor(int[] record, int[] marking, long sum) {
+    if (ancestorSumOf(record) >= sum) {
+      return false;
+    }
+    for (int i = 0; i < placeCount; ++i) {
+      if (record[ancestorOffset + i] > marking[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long pack(int high, int low) {
+    return (long) high << 32 | (low & 0xFFFFFFFFL);
+  }
+
+  private Path newFile() {
+    return directory.resolve(String.valueOf(fileCount++));
+  }
+
+  private void deleteDirectory() throws IOException {
+    try (var files = Files.list(directory)) {
+      for (var file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  /**
+   * A sorted file of visited markings, with every {@value #FENCE_INTERVAL}-th
+   * and the last marking in memory.
+   */
+  private record Run(Path file, long count, List<int[]> fences, int[] last) {
+  }
+
+  /**
+   * Writes the markings of a new {@code Run} in ascending order.
+   */
+  private final class RunWriter implements Closeable {
+    private final Path file;
+    private final RecordWriter writer;
+    private final List<int[]> fences = new ArrayList<>();
+    private final int[] last = new int[placeCount];
+    private long count;
+
+    RunWriter(Path file) throws IOException {
+      this.file = file;
+      writer = new RecordWriter(file, placeCount);
+    }
+
+    void write(int[] record) throws IOException {
+      if (count % FENCE_INTERVAL == 0) {
+        fences.add(Arrays.copyOf(record, placeCount));
+      }
+      writer.write(record);
+      System.arraycopy(record, 0, last, 0, placeCount);
+      ++count;
+    }
+
+    Run toRun() {
+      return new Run(file, count, fences, last);
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+  }
+
+  /**
+   * Looks up markings in ascending order in a {@code Run}. The file is opened
+   * when the first marking falls into the range of the run, and only the
+   * blocks between two fences that may hold a marking are read.
+   */
+  private final class RunCursor implements Closeable {
+    private final Run run;
+    private RecordReader reader;
+    private boolean hasRecord;
+
+    RunCursor(Run run) {
+      this.run = run;
+    }
+
+    boolean contains(int[] marking) throws IOException {
+      if (compareMarkings(marking, run.fences.get(0)) < 0 || compareMarkings(marking, run.last) > 0) {
+        return false;
+      }
+      if (reader == null) {
+        reader = new RecordReader(run.file, placeCount, 0);
+      }
+      // the block starting at the last fence not after the marking
+      var fence = Collections.binarySearch(run.fences, marking, ExternalStateSpaceExplorer.this::compareMarkings);
+      var start = (long) (fence < 0 ? -fence - 2 : fence) * FENCE_INTERVAL;
+      if (reader.position < start) {
+        hasRecord = reader.skipTo(start);
+      }
+      while (hasRecord && compareMarkings(reader.record, marking) < 0) {
+        hasRecord = reader.next();
+      }
+      return hasRecord && compareMarkings(reader.record, marking) == 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (reader != null) {
+        reader.close();
+      }
+    }
+  }
+
+  /**
+   * Writes records of a fixed number of ints to a new file.
+   */
+  private static final class RecordWriter implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int length;
+
+    RecordWriter(Path file, int length) throws IOException {
+      channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, 4 * length));
+      this.length = length;
+    }
+
+    // writes the first length ints of the record
+    void write(int[] record) throws IOException {
+      if (buffer.remaining() < 4 * length) {
+        flush();
+      }
+      for (int i = 0; i < length; ++i) {
+        buffer.putInt(record[i]);
+      }
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+      channel.close();
+    }
+  }
+
+  /**
+   * Reads records of a fixed number of ints from a file, one after the other.
+   */
+  private static final class RecordReader implements Closeable {
+    // the record read last, overwritten by the next one
+    final int[] record;
+    final int index;
+    // the index of the record in the file, -1 before the first
+    long position = -1;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    RecordReader(Path file, int length, int index) throws IOException {
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+      buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_BYTES, 4 * length));
+      buffer.flip();
+      record = new int[length];
+      this.index = index;
+    }
+
+    boolean next() throws IOException {
+      if (buffer.remaining() < 4 * record.length) {
+        buffer.compact();
+        var read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+          read = channel.read(buffer);
+        }
+        buffer.flip();
+        if (buffer.remaining() < 4 * record.length) {
+          return false;
+        }
+      }
+      for (int i = 0; i < record.length; ++i) {
+        record[i] = buffer.getInt();
+      }
+      ++position;
+      return true;
+    }
+
+    // reads up to the record at the given index, which must not be before the
+    // current one, and seeks if it is not in the buffer
+    boolean skipTo(long target) throws IOException {
+      if (target - position > buffer.remaining() / (4 * record.length)) {
+        channel.position(4L * record.length * target);
+        buffer.clear();
+        buffer.flip();
+        position = target - 1;
+      }
+      while (position < target) {
+        if (!next()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+
+    // reads a single record at the given index
+    static int[] read(Path file, int length, int index) throws IOException {
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        var buffer = ByteBuffer.allocate(4 * length);
+        var position = 4L * length * index;
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer, position + buffer.position()) < 0) {
+            throw new EOFException();
+          }
+        }
+        buffer.flip();
+        var record = new int[length];
+        buffer.asIntBuffer().get(record);
+        return record;
+      }
+    }
+  }
+}
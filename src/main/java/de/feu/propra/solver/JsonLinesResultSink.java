@@ -0,0 +1,78 @@
+package de.feu.propra.solver;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import de.feu.propra.reachability.Marking;
+
+/**
+ * Writes each {@code BoundednessSolverResult} as a JSON object on a line of
+ * its own (JSON Lines). The output is plain ASCII. Fields that do not apply,
+ * e.g. the path of a bounded net, are null. The verdict {@code bounded} is
+ * null if the status is not {@code COMPLETE}, unbounded {@code Place}s have a
+ * bound of null.
+ * 
+ * @author j-hap 
+ *
+ */
+public class JsonLinesResultSink extends LineResultSink {
+  /**
+   * @param out The output the JSON lines are appended to.
+   */
+  public JsonLinesResultSink(Appendable out) {
+    super(out);
+  }
+
+  @Override
+  protected String format(BoundednessSolverResult r) {
+    var sb = new StringBuilder("{");
+    appendField(sb, "file", quote(r.file.getPath())).append(',');
+    appendField(sb, "status", quote(r.status.toString())).append(',');
+    appendField(sb, "bounded", String.valueOf(r.isBounded)).append(',');
+    appendField(sb, "method", quote(r.method.toString())).append(',');
+    appendField(sb, "nodes", String.valueOf(r.nodeCount)).append(',');
+    appendField(sb, "edges", String.valueOf(r.edgeCount)).append(',');
+    appendField(sb, "path", r.problemPath == null ? "null" : array(r.problemPath)).append(',');
+    appendField(sb, "markings", !r.isUnbounded() ? "null"
+        : array(r.problemMarkings.stream().map(Marking::toString).collect(Collectors.toList()))).append(',');
+    appendField(sb, "probabilistic", String.valueOf(r.isProbabilistic)).append(',');
+    appendField(sb, "coverage", String.valueOf(r.coverage)).append(',');
+    appendField(sb, "omissionProbability", String.valueOf(r.omissionProbability)).append(',');
+    appendField(sb, "netClass", r.netClass == null ? "null" : quote(r.netClass.toString())).append(',');
+    appendField(sb, "reductions", r.reductions == null ? "null" : array(r.reductions)).append(',');
+    appendField(sb, "placeBounds", r.placeBounds == null ? "null" : object(r.placeBounds));
+    return sb.append('}').toString();
+  }
+
+  private static StringBuilder appendField(StringBuilder sb, String name, String value) {
+    return sb.append(quote(name)).append(':').append(value);
+  }
+
+  private static String array(Collection<String> values) {
+    return values.stream().map(JsonLinesResultSink::quote).collect(Collectors.joining(",", "[", "]"));
+  }
+
+  private static String object(Map<String, Integer> bounds) {
+    return bounds.entrySet().stream()
+        .map(e -> quote(e.getKey()) + ":" + (e.getValue() == Marking.OMEGA ? "null" : e.getValue()))
+        .collect(Collectors.joining(",", "{", "}"));
+  }
+
+  // escapes everything but printable ASCII, so the encoding of the output
+  // does not matter
+  private static String quote(String value) {
+    var sb = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); ++i) {
+      var c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20 || c > 0x7e) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
@@ -0,0 +1,52 @@
+package de.feu.propra.solver;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base class of the {@code ResultSink}s that write one line per result. The
+ * output is flushed after each line, so it can be followed while the batch
+ * runs.
+ * 
+ * @author j-hap 
+ *
+ */
+abstract class LineResultSink implements ResultSink {
+  private final Appendable out;
+
+  /**
+   * @param out The output the lines are appended to.
+   */
+  protected LineResultSink(Appendable out) {
+    this.out = out;
+  }
+
+  /**
+   * @param result The result to format.
+   * @return The line of the result, without line break.
+   */
+  protected abstract String format(BoundednessSolverResult result);
+
+  @Override
+  public void accept(BoundednessSolverResult result) {
+    writeLine(format(result));
+  }
+
+  /**
+   * Appends the line and a line break and flushes the output.
+   * 
+   * @param line The line to write.
+   * @throws UncheckedIOException If the output fails.
+   */
+  protected void writeLine(String line) {
+    try {
+      out.append(line).append('\n');
+      if (out instanceof Flushable f) {
+        f.flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
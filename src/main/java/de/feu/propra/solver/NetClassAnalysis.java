@@ -0,0 +1,196 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.petrinet.NetClass;
+import de.feu.propra.petrinet.PlaceInvariants;
+
+/**
+ * Decides the boundedness of a {@code CompiledNet} from its {@code NetClass},
+ * without exploring its state space:
+ * <ul>
+ * <li>State machines are bounded, since the number of tokens is constant.</li>
+ * <li>A marked graph is bounded, if every {@code Place} lies on a directed
+ * circuit, because the number of tokens on a circuit is constant. A
+ * {@code Place} on no circuit is unbounded, if its producing
+ * {@code Transition} can fire infinitely often, i.e. it is not downstream of a
+ * circuit without tokens.</li>
+ * <li>Free-choice nets are proven bounded, if they are covered by
+ * {@code PlaceInvariants}. Otherwise the analysis is inconclusive.</li>
+ * </ul>
+ * All checks are polynomial in the size of the net.
+ * 
+ * @author j-hap 
+ *
+ */
+class NetClassAnalysis {
+  private final NetClass netClass;
+  private final boolean isDecided;
+  private final boolean isBounded;
+
+  /**
+   * Classifies the given net and checks its boundedness.
+   * 
+   * @param net The {@code CompiledNet} to analyze.
+   */
+  NetClassAnalysis(CompiledNet net) {
+    netClass = NetClass.of(net);
+    switch (netClass) {
+    case STATE_MACHINE -> {
+      isDecided = true;
+      isBounded = true;
+    }
+    case MARKED_GRAPH -> {
+      isDecided = true;
+      isBounded = isMarkedGraphBounded(net);
+    }
+    case FREE_CHOICE -> {
+      isBounded = new PlaceInvariants(net).coversAllPlaces();
+      isDecided = isBounded;
+    }
+    default -> {
+      isDecided = false;
+      isBounded = false;
+    }
+    }
+  }
+
+  /**
+   * @return The {@code NetClass} of the net.
+   */
+  NetClass getNetClass() {
+    return netClass;
+  }
+
+  /**
+   * @return True if the boundedness was decided.
+   */
+  boolean isDecided() {
+    return isDecided;
+  }
+
+  /**
+   * @return True if the net is bounded. Only meaningful if the boundedness was
+   *         decided.
+   */
+  boolean isBounded() {
+    return isBounded;
+  }
+
+  private static boolean isMarkedGraphBounded(CompiledNet net) {
+    var placeCount = net.getPlaceCount();
+    var nodeCount = placeCount + net.getTransitionCount();
+    // places first, then transitions
+    var successors = new ArrayList<List<Integer>>();
+    for (int i = 0; i < nodeCount; ++i) {
+      successors.add(new ArrayList<>());
+    }
+    var producer = new int[placeCount];
+    for (int t = 0; t < net.getTransitionCount(); ++t) {
+      for (var p : net.getPreset(t)) {
+        successors.get(p).add(placeCount + t);
+      }
+      for (var p : net.getPostset(t)) {
+        successors.get(placeCount + t).add(p);
+        producer[p] = placeCount + t;
+      }
+    }
+    var onCircuit = nodesOnCircuits(successors, new BitSet());
+    // places with tokens interrupt the circuits that could be dead
+    var marked = new BitSet();
+    var initialMarking = net.getInitialMarking();
+    for (int p = 0; p < placeCount; ++p) {
+      if (initialMarking[p] > 0) {
+        marked.set(p);
+      }
+    }
+    var dead = downstream(successors, nodesOnCircuits(successors, marked));
+    for (int p = 0; p < placeCount; ++p) {
+      if (!onCircuit.get(p) && !dead.get(producer[p])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // nodes of strongly connected components with more than one node, ignoring
+  // the excluded nodes, found with an iterative version of Tarjan's algorithm
+  private static BitSet nodesOnCircuits(List<List<Integer>> successors, BitSet excluded) {
+    var n = successors.size();
+    var index = new int[n];
+    var lowLink = new int[n];
+    Arrays.fill(index, -1);
+    var onStack = new BitSet(n);
+    var stack = new ArrayDeque<Integer>();
+    var result = new BitSet(n);
+    var counter = 0;
+    for (int root = 0; root < n; ++root) {
+      if (index[root] >= 0 || excluded.get(root)) {
+        continue;
+      }
+      // pairs of node and position of the next successor to visit
+      var calls = new ArrayDeque<int[]>();
+      calls.push(new int[] { root, 0 });
+      index[root] = lowLink[root] = counter++;
+      stack.push(root);
+      onStack.set(root);
+      while (!calls.isEmpty()) {
+        var call = calls.peek();
+        var v = call[0];
+        if (call[1] < successors.get(v).size()) {
+          var w = successors.get(v).get(call[1]++);
+          if (excluded.get(w)) {
+            continue;
+          }
+          if (index[w] < 0) {
+            index[w] = lowLink[w] = counter++;
+            stack.push(w);
+            onStack.set(w);
+            calls.push(new int[] { w, 0 });
+          } else if (onStack.get(w)) {
+            lowLink[v] = Math.min(lowLink[v], index[w]);
+          }
+          continue;
+        }
+        calls.pop();
+        if (!calls.isEmpty()) {
+          var parent = calls.peek()[0];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+        }
+        if (lowLink[v] == index[v]) {
+          var component = new ArrayList<Integer>();
+          int w;
+          do {
+            w = stack.pop();
+            onStack.clear(w);
+            component.add(w);
+          } while (w != v);
+          if (component.size() > 1) {
+            component.forEach(result::set);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private static BitSet downstream(List<List<Integer>> successors, BitSet start) {
+    var reached = (BitSet) start.clone();
+    var queue = new ArrayDeque<Integer>();
+    start.stream().forEach(queue::add);
+    while (!queue.isEmpty()) {
+      for (var w : successors.get(queue.poll())) {
+        if (!reached.get(w)) {
+          reached.set(w);
+          queue.add(w);
+        }
+      }
+    }
+    return reached;
+  }
+}
@@ -0,0 +1,201 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.reachability.Marking;
+
+/**
+ * Multi-threaded exploration of the state space of a {@code CompiledNet} on a
+ * work stealing {@code ForkJoinPool}. Each task runs a local depth first search
+ * and hands off newly discovered markings as separate tasks while other
+ * threads are idle. Discovered markings are shared through a concurrent set.
+ * <p>
+ * Every task knows the path that lead to its markings, and each new marking is
+ * compared with its ancestors on that path. Since every marking is discovered
+ * through exactly one path, the search finds a pair of m &lt;-&gt; m' markings
+ * for every unbounded net. For bounded nets node and edge count are the same
+ * as with the sequential search. For unbounded nets they depend on the thread
+ * scheduling, as does the reported pair of markings.
+ * 
+ * @author j-hap 
+ *
+ */
+class ParallelStateSpaceExplorer implements Explorer {
+  private final CompiledNet net;
+  private final int parallelism;
+  private final Set<Marking> visited = ConcurrentHashMap.newKeySet();
+  private final LongAdder edgeCount = new LongAdder();
+  private final AtomicReference<PathNode[]> witness = new AtomicReference<>();
+  private volatile ForkJoinPool pool;
+  private volatile boolean isCancelled;
+  private boolean isStopped;
+
+  /**
+   * A marking together with the path through which it was discovered.
+   */
+  private static final class PathNode {
+    final int[] marking;
+    final int transition;
+    final PathNode parent;
+
+    PathNode(int[] marking, int transition, PathNode parent) {
+      this.marking = marking;
+      this.transition = transition;
+      this.parent = parent;
+    }
+  }
+
+  /**
+   * Creates an explorer for the given net, starting at its initial marking.
+   * 
+   * @param net         The {@code CompiledNet} to explore.
+   * @param parallelism The number of worker threads.
+   */
+  ParallelStateSpaceExplorer(CompiledNet net, int parallelism) {
+    this.net = net;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean explore() {
+    var root = new PathNode(net.getInitialMarking(), -1, null);
+    visited.add(Marking.wrap(root.marking));
+    pool = new ForkJoinPool(parallelism);
+    try {
+      pool.invoke(new ExploreTask(null, root));
+    } finally {
+      pool.shutdown();
+    }
+    // the workers drop their tasks once cancelled
+    isStopped = isCancelled && witness.get() == null;
+    return witness.get() == null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isStopped() {
+    return isStopped;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void cancel() {
+    isCancelled = true;
+  }
+
+  /**
+   * {@inheritDoc} These are the queued tasks, each of which may hold several
+   * markings.
+   */
+  @Override
+  public long getPendingCount() {
+    var current = pool;
+    return current == null ? 0 : current.getQueuedTaskCount();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getNodeCount() {
+    return visited.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getEdgeCount() {
+    return edgeCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<String> getProblemPath() {
+    var ids = new ArrayList<String>();
+    for (var node = witness.get()[1]; node.parent != null; node = node.parent) {
+      ids.add(net.getTransitionId(node.transition));
+    }
+    Collections.reverse(ids);
+    return ids;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Marking> getProblemMarkings() {
+    var pair = witness.get();
+    return List.of(Marking.wrap(pair[0].marking), Marking.wrap(pair[1].marking));
+  }
+
+  private boolean checkBounded(PathNode node) {
+    for (var ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+      if (StateSpaceExplorer.isGreater(node.marking, ancestor.marking)) {
+        witness.compareAndSet(null, new PathNode[] { ancestor, node });
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private class ExploreTask extends CountedCompleter<Void> {
+    private static final long serialVersionUID = 1L;
+    private final PathNode start;
+
+    ExploreTask(CountedCompleter<?> parent, PathNode start) {
+      super(parent);
+      this.start = start;
+    }
+
+    @Override
+    public void compute() {
+      var stack = new ArrayDeque<PathNode>();
+      stack.push(start);
+      while (!stack.isEmpty() && witness.get() == null && !isCancelled) {
+        var node = stack.pop();
+        for (int t = 0; t < net.getTransitionCount(); ++t) {
+          if (!net.isEnabled(node.marking, t)) {
+            continue;
+          }
+          edgeCount.increment();
+          var next = net.fire(node.marking, t);
+          if (!visited.add(Marking.wrap(next))) {
+            continue;
+          }
+          var child = new PathNode(next, t, node);
+          if (!checkBounded(child)) {
+            break;
+          }
+          // hand off work only while other workers are starving
+          if (getSurplusQueuedTaskCount() < 2) {
+            addToPendingCount(1);
+            new ExploreTask(this, child).fork();
+          } else {
+            stack.push(child);
+          }
+        }
+      }
+      tryComplete();
+    }
+  }
+}
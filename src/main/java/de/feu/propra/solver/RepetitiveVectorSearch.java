@@ -0,0 +1,167 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.petrinet.RepetitiveVectors;
+import de.feu.propra.reachability.Marking;
+
+/**
+ * Tries to fire one of the {@code RepetitiveVectors} of a {@code CompiledNet}
+ * from a marking close to the initial one. A marking m, from which all
+ * {@code Transition}s of an increasing repetitive T-vector can be fired in some
+ * order, leads to a marking m' &gt; m, so the net is unbounded and m, m' are a
+ * pair of m &lt;-&gt; m' markings.
+ * <p>
+ * The search is bounded: only the first {@link #MAX_PREFIX_MARKINGS} markings
+ * of a breadth first search are tried as m, and the orders in which the
+ * T-vectors are fired are abandoned after {@link #MAX_STEPS} firings in total.
+ * Finding nothing proves nothing.
+ * 
+ * @author j-hap 
+ *
+ */
+class RepetitiveVectorSearch {
+  /**
+   * The maximal number of markings at which the firing of a T-vector is tried.
+   */
+  static final int MAX_PREFIX_MARKINGS = 1000;
+  /**
+   * The maximal number of transition firings of the whole search.
+   */
+  static final int MAX_STEPS = 1_000_000;
+  // T-vectors with longer firing sequences are not tried
+  private static final int MAX_LENGTH = 1000;
+  private final CompiledNet net;
+  private final List<int[]> prefixMarkings = new ArrayList<>();
+  // index of the parent marking and the transition leading to a prefix marking
+  private final List<int[]> prefixParents = new ArrayList<>();
+  private final List<Integer> sequence = new ArrayList<>();
+  private List<String> problemPath;
+  private List<Marking> problemMarkings;
+  private int steps;
+
+  /**
+   * Creates a search on the given net, starting at its initial marking.
+   * 
+   * @param net The {@code CompiledNet} to analyze.
+   */
+  RepetitiveVectorSearch(CompiledNet net) {
+    this.net = net;
+  }
+
+  /**
+   * Searches for a marking at which one of the T-vectors can be fired.
+   * 
+   * @return True if a pair of m &lt;-&gt; m' markings was found, false if the
+   *         search was inconclusive.
+   */
+  boolean search() {
+    var vectors = new RepetitiveVectors(net).getVectors();
+    vectors.removeIf(v -> RepetitiveVectors.length(v) > MAX_LENGTH);
+    if (vectors.isEmpty()) {
+      return false;
+    }
+    explorePrefix();
+    for (int i = 0; i < prefixMarkings.size() && steps < MAX_STEPS; ++i) {
+      for (var vector : vectors) {
+        var remaining = vector.clone();
+        if (fire(prefixMarkings.get(i), remaining, (int) RepetitiveVectors.length(vector), new HashSet<>())) {
+          recordWitness(i);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return The {@code Transition} IDs from the initial marking to m'. Is null
+   *         if nothing was found.
+   */
+  List<String> getProblemPath() {
+    return problemPath;
+  }
+
+  /**
+   * @return The {@code Marking}s m and m'. Is null if nothing was found.
+   */
+  List<Marking> getProblemMarkings() {
+    return problemMarkings;
+  }
+
+  private void explorePrefix() {
+    var index = new HashMap<Marking, Integer>();
+    var initial = net.getInitialMarking();
+    prefixMarkings.add(initial);
+    prefixParents.add(new int[] { -1, -1 });
+    index.put(Marking.wrap(initial), 0);
+    for (int i = 0; i < prefixMarkings.size() && prefixMarkings.size() < MAX_PREFIX_MARKINGS; ++i) {
+      var marking = prefixMarkings.get(i);
+      for (int t = 0; t < net.getTransitionCount(); ++t) {
+        if (!net.isEnabled(marking, t)) {
+          continue;
+        }
+        var next = net.fire(marking, t);
+        if (index.putIfAbsent(Marking.wrap(next), prefixMarkings.size()) == null) {
+          prefixMarkings.add(next);
+          prefixParents.add(new int[] { i, t });
+        }
+      }
+    }
+  }
+
+  // fires the remaining transitions in some order, depth first, and leaves
+  // the order in the sequence on success
+  private boolean fire(int[] marking, int[] remaining, int length, Set<List<Integer>> failed) {
+    if (length == 0) {
+      return true;
+    }
+    if (steps >= MAX_STEPS || failed.contains(asList(remaining))) {
+      return false;
+    }
+    for (int t = 0; t < remaining.length; ++t) {
+      if (remaining[t] == 0 || !net.isEnabled(marking, t)) {
+        continue;
+      }
+      ++steps;
+      --remaining[t];
+      sequence.add(t);
+      if (fire(net.fire(marking, t), remaining, length - 1, failed)) {
+        return true;
+      }
+      sequence.remove(sequence.size() - 1);
+      ++remaining[t];
+    }
+    // the marking follows from the remaining counts, so this is a dead end
+    failed.add(asList(remaining));
+    return false;
+  }
+
+  private static List<Integer> asList(int[] counts) {
+    return Arrays.stream(counts).boxed().collect(Collectors.toList());
+  }
+
+  private void recordWitness(int prefixIndex) {
+    var prefix = new ArrayList<String>();
+    for (var i = prefixIndex; prefixParents.get(i)[0] >= 0; i = prefixParents.get(i)[0]) {
+      prefix.add(net.getTransitionId(prefixParents.get(i)[1]));
+    }
+    Collections.reverse(prefix);
+    var m = prefixMarkings.get(prefixIndex);
+    var mPrime = m;
+    for (var t : sequence) {
+      prefix.add(net.getTransitionId(t));
+      mPrime = net.fire(mPrime, t);
+    }
+    problemPath = prefix;
+    problemMarkings = List.of(Marking.wrap(m), Marking.wrap(mPrime));
+  }
+}
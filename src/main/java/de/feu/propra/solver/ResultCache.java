@@ -0,0 +1,247 @@
+package de.feu.propra.solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import de.feu.propra.petrinet.NetClass;
+import de.feu.propra.reachability.Marking;
+
+/**
+ * A {@code ResultCache} keeps {@code BoundednessSolverResult}s in a directory,
+ * keyed by the SHA-256 hash of the content of a file and the solver settings,
+ * so unchanged files are not solved again. When the entries exceed the size
+ * limit, the least recently used ones are deleted. Several threads and
+ * processes may share a directory: entries are written to a temporary file
+ * and moved into place atomically, and the eviction is guarded by a file
+ * lock.
+ * 
+ * @author j-hap 
+ *
+ */
+public class ResultCache {
+  // part of every key, to be increased when the serialized form changes
+  private static final int FORMAT_VERSION = 2;
+  private static final String SUFFIX = ".result";
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+  private static final String LOCK_FILE = "cache.lock";
+  // temporary files this old are left over by a process that was killed
+  private static final Duration ORPHAN_AGE = Duration.ofHours(1);
+  // the entries are read from a directory others may write to, so only the
+  // classes a result consists of are deserialized
+  private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+      .createFilter(String.join(";", BoundednessSolverResult.class.getName(), Marking.class.getName(),
+          SolverStatus.class.getName(), AnalysisMethod.class.getName(), NetClass.class.getName(), "java.util.*",
+          "java.lang.*", "!*"));
+  private static final Logger logger = Logger.getLogger(ResultCache.class.getName());
+  private final Path directory;
+  private final long maxBytes;
+  // the size of the entries, as far as this process knows
+  private final AtomicLong size = new AtomicLong();
+
+  /**
+   * Opens the cache in the given directory, which is created if it does not
+   * exist.
+   * 
+   * @param directory The directory of the cache.
+   * @param maxBytes  The size limit of all entries together.
+   * @throws UncheckedIOException If the directory cannot be created or read.
+   */
+  public ResultCache(Path directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    try {
+      Files.createDirectories(directory);
+      size.set(listEntries().stream().mapToLong(Entry::size).sum());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Computes the key of a file, which changes with the content of the file or
+   * the settings.
+   * 
+   * @param file     The file to be solved.
+   * @param settings A description of all settings that influence the result.
+   * @return The key as hexadecimal {@code String}.
+   * @throws IOException If the file cannot be read.
+   */
+  public String keyOf(File file, String settings) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(e);
+    }
+    digest.update((FORMAT_VERSION + "\n" + settings + "\n").getBytes(StandardCharsets.UTF_8));
+    digest.update(Files.readAllBytes(file.toPath()));
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Reads the result of the given key. Entries that cannot be read are
+   * deleted.
+   * 
+   * @param key A key from {@link #keyOf(File, String)}.
+   * @return The cached result without {@code file}, or null if there is none.
+   */
+  public BoundednessSolverResult get(String key) {
+    var path = entryPath(key);
+    BoundednessSolverResult result;
+    try (var in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      in.setObjectInputFilter(FILTER);
+      result = (BoundednessSolverResult) in.readObject();
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      logger.warning("Dropping unreadable cache entry " + path + ": " + e);
+      deleteQuietly(path);
+      return null;
+    }
+    try {
+      // the modification time orders the entries for the eviction
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+    } catch (IOException e) {
+      // evicted by another process in the meantime
+    }
+    return result;
+  }
+
+  /**
+   * Stores the result under the given key and evicts the least recently used
+   * entries if the size limit is exceeded. Failures are logged, because the
+   * cache only saves time.
+   * 
+   * @param key    A key from {@link #keyOf(File, String)}.
+   * @param result The result to store.
+   */
+  public void put(String key, BoundednessSolverResult result) {
+    var path = entryPath(key);
+    try {
+      Files.createDirectories(path.getParent());
+      var temporary = Files.createTempFile(path.getParent(), key, TEMPORARY_SUFFIX);
+      try {
+        try (var out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+          out.writeObject(result);
+        }
+        var bytes = Files.size(temporary);
+        var replaced = sizeOf(path);
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        if (size.addAndGet(bytes - replaced) > maxBytes) {
+          evict();
+        }
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException e) {
+      logger.warning("Failed to write cache entry " + path + ": " + e);
+    }
+  }
+
+  // deletes the least recently used entries down to three quarters of the
+  // limit, so not every put evicts
+  private synchronized void evict() throws IOException {
+    try (var channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE)) {
+      var lock = channel.lock();
+      try {
+        var entries = listEntries();
+        entries.sort(Comparator.comparing(Entry::lastUsed));
+        long total = entries.stream().mapToLong(Entry::size).sum();
+        for (var e : entries) {
+          if (total <= maxBytes / 4 * 3) {
+            break;
+          }
+          deleteQuietly(e.path);
+          total -= e.size;
+        }
+        size.set(total);
+        deleteOrphans();
+      } finally {
+        lock.release();
+      }
+    }
+  }
+
+  private List<Entry> listEntries() throws IOException {
+    var entries = new ArrayList<Entry>();
+    try (Stream<Path> paths = Files.walk(directory, 2)) {
+      for (var p : (Iterable<Path>) paths::iterator) {
+        if (!p.getFileName().toString().endsWith(SUFFIX)) {
+          continue;
+        }
+        try {
+          entries.add(new Entry(p, Files.size(p), Files.getLastModifiedTime(p)));
+        } catch (NoSuchFileException e) {
+          // evicted by another process in the meantime
+        }
+      }
+    }
+    return entries;
+  }
+
+  private void deleteOrphans() throws IOException {
+    var oldest = FileTime.from(Instant.now().minus(ORPHAN_AGE));
+    try (Stream<Path> paths = Files.walk(directory, 2)) {
+      for (var p : (Iterable<Path>) paths::iterator) {
+        if (p.getFileName().toString().endsWith(TEMPORARY_SUFFIX)
+            && Files.getLastModifiedTime(p).compareTo(oldest) < 0) {
+          deleteQuietly(p);
+        }
+      }
+    } catch (NoSuchFileException e) {
+      // moved into place by another process in the meantime
+    }
+  }
+
+  // 0 if there is no entry
+  private static long sizeOf(Path path) throws IOException {
+    try {
+      return Files.size(path);
+    } catch (NoSuchFileException e) {
+      return 0;
+    }
+  }
+
+  // two levels, so no directory holds too many entries
+  private Path entryPath(String key) {
+    return directory.resolve(key.substring(0, 2)).resolve(key + SUFFIX);
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // e.g. still open by another process on Windows, deleted next time
+    }
+  }
+
+  private record Entry(Path path, long size, FileTime lastUsed) {
+  }
+}
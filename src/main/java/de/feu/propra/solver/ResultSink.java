@@ -0,0 +1,28 @@
+package de.feu.propra.solver;
+
+/**
+ * A {@code ResultSink} receives the {@code BoundednessSolverResult} of each
+ * file of a {@code BatchSolver} as soon as it is available, in the order of
+ * the files. Implementations that write each result right away need constant
+ * memory, however many files are checked.
+ * 
+ * @author j-hap 
+ *
+ * @see BatchSolver#addResultSink(ResultSink)
+ */
+@FunctionalInterface
+public interface ResultSink {
+  /**
+   * Receives the result of the next file.
+   * 
+   * @param result The result, with {@code file} set.
+   */
+  void accept(BoundednessSolverResult result);
+
+  /**
+   * Called once after the last result, also if the batch was cancelled. Writes
+   * what is still buffered, but does not close the underlying output.
+   */
+  default void finish() {
+  }
+}
@@ -10,7 +10,6 @@ import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
-import de.feu.propra.controller.PetriNetController;
 import de.feu.propra.ui.Settings;
 
 /**
@@ -24,7 +23,7 @@ public class ResultsFormatter {
   private final int nHeaderLines = 2;
   private Appendable buffer;
   private List<List<String>> columns;
-  private static final Logger logger = Logger.getLogger(PetriNetController.class.getName());
+  private static final Logger logger = Logger.getLogger(ResultsFormatter.class.getName());
   private ResourceBundle bundle;
 
   private ResultsFormatter(Locale l, Appendable a) {
@@ -91,7 +90,7 @@ public class ResultsFormatter {
 
     // first two columns are handled the same, no matter what the result is
     results.forEach(r -> columns.get(0).add(r.file.getName()));
-    results.forEach(r -> columns.get(1).add(boolean2String(r.isBounded)));
+    results.forEach(r -> columns.get(1).add(r.describeVerdict(bundle)));
 
     buildThirdColumn(results);
     prependHeader(columns);
@@ -118,7 +117,9 @@ public class ResultsFormatter {
     var fmt = getFormatStrings(results);
     var col = columns.get(2);
     for (var r : results) {
-      if (r.isBounded) {
+      if (r.hasProof() && r.isBounded) {
+        col.add(r.describeProof(bundle));
+      } else if (!r.isUnbounded()) {
         col.add(String.format(fmt[0], r.nodeCount, r.edgeCount));
       } else {
         var pathLength = r.problemPath.size();
@@ -135,10 +136,10 @@ public class ResultsFormatter {
   }
 
   private String[] getFormatStrings(List<BoundednessSolverResult> results) {
-    int maxFirstNumber = 0;
-    int maxEdgeCount = 0;
+    long maxFirstNumber = 0;
+    long maxEdgeCount = 0;
     for (var r : results) {
-      if (r.isBounded) {
+      if (!r.isUnbounded()) {
         maxFirstNumber = Math.max(maxFirstNumber, r.nodeCount);
         maxEdgeCount = Math.max(maxEdgeCount, r.edgeCount);
       } else {
@@ -194,7 +195,7 @@ public class ResultsFormatter {
     for (int iRes = res.size(); iRes-- > 0;) {
       --iRow;
       var r = res.get(iRes);
-      if (!r.isBounded) {
+      if (r.isUnbounded()) {
         list.set(iRow, list.get(iRow) + op.apply(r));
       }
     }
@@ -210,10 +211,6 @@ public class ResultsFormatter {
     list.replaceAll(s -> String.format(fmt, s));
   }
 
-  private String boolean2String(boolean b) {
-    return (b ? bundle.getString("yes") : bundle.getString("no"));
-  }
-
   private void prependHeader(List<List<String>> columns) {
     columns.get(0).addAll(0, Arrays.asList(new String[] { "", bundle.getString("Filename") }));
     columns.get(1).addAll(0, Arrays.asList(new String[] { "", bundle.getString("bounded") }));
@@ -0,0 +1,50 @@
+package de.feu.propra.solver;
+
+/**
+ * A snapshot of the progress of a running solver, e.g. to display it while the
+ * solver runs in the background.
+ * 
+ * @author j-hap 
+ *
+ */
+public class SolverProgress {
+  /**
+   * The number of markings discovered so far.
+   */
+  public final long nodeCount;
+  /**
+   * The number of transitions fired so far.
+   */
+  public final long edgeCount;
+  /**
+   * The number of discovered markings that are not fully expanded yet, e.g.
+   * the depth of the search path of a depth first search.
+   */
+  public final long pendingCount;
+  /**
+   * The time since the solver was started in milliseconds.
+   */
+  public final long elapsedMillis;
+
+  /**
+   * Creates a snapshot with the given values.
+   * 
+   * @param nodeCount     The number of discovered markings.
+   * @param edgeCount     The number of fired transitions.
+   * @param pendingCount  The number of markings that are not fully expanded.
+   * @param elapsedMillis The time since the start in milliseconds.
+   */
+  public SolverProgress(long nodeCount, long edgeCount, long pendingCount, long elapsedMillis) {
+    this.nodeCount = nodeCount;
+    this.edgeCount = edgeCount;
+    this.pendingCount = pendingCount;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * @return The average number of markings discovered per second.
+   */
+  public double getNodesPerSecond() {
+    return elapsedMillis == 0 ? 0 : 1000.0 * nodeCount / elapsedMillis;
+  }
+}
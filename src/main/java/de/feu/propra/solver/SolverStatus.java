@@ -0,0 +1,46 @@
+package de.feu.propra.solver;
+
+/**
+ * Tells if a {@code BoundednessSolverResult} holds a verdict. Unless the
+ * solver ran to completion, the boundedness is unknown and node and edge count
+ * are those reached so far.
+ * 
+ * @author j-hap 
+ *
+ */
+public enum SolverStatus {
+  /**
+   * The solver ran to completion, the verdict is known.
+   */
+  COMPLETE,
+  /**
+   * The solver was cancelled before it reached a verdict.
+   */
+  CANCELLED,
+  /**
+   * The solver used up its time budget before it reached a verdict.
+   * 
+   * @see BoundednessSolver#setTimeLimit(long)
+   */
+  TIME_LIMIT,
+  /**
+   * The solver explored as many markings as its budget allows before it
+   * reached a verdict.
+   * 
+   * @see BoundednessSolver#setStateLimit(long)
+   */
+  STATE_LIMIT,
+  /**
+   * The solver used up its share of the heap before it reached a verdict.
+   * 
+   * @see BoundednessSolver#setHeapLimit(double)
+   */
+  MEMORY_LIMIT,
+  /**
+   * The check failed, e.g. because the file could not be parsed or the heap
+   * ran out.
+   * 
+   * @see BatchSolver
+   */
+  ERROR;
+}
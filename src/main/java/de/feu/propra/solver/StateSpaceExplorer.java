@@ -0,0 +1,529 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.reachability.Marking;
+import de.feu.propra.reachability.ReachabilityGraph;
+import de.feu.propra.reachability.StateStore;
+import de.feu.propra.reachability.VisitedSet;
+
+/**
+ * Depth first exploration of the state space of a {@code CompiledNet}. Visits
+ * the markings in the same order as the model based search did, but works on
+ * int arrays and state indices only.
+ * <p>
+ * The first search compares each new marking m' with the markings on the
+ * current search path only, nearest first. Every marking on the path is a
+ * predecessor of m', and an infinite state space always contains an infinite
+ * path, so this decides boundedness. The path keeps the componentwise minimum
+ * and the minimal token sum of each prefix, so the comparison stops as soon as
+ * no remaining marking can be covered.
+ * <p>
+ * The m &lt;-&gt; m' pair of {@code ReachabilityGraph} is the nearest of all
+ * predecessors, which need not lie on the path. For unbounded nets the search is
+ * therefore repeated with the backwards search over all predecessors, which
+ * stops at the same transition and reports the same pair as the model based
+ * search. Bounded nets are never searched backwards.
+ * <p>
+ * With partial order reduction only the enabled members of a stubborn set are
+ * fired in each marking. If one of them leads to an already discovered
+ * marking, all enabled {@code Transition}s are fired, so no {@code Transition}
+ * is ignored on a cycle. The reduced search keeps the verdict, but not the node
+ * and edge counts or the pair of markings of the full search, so it runs only
+ * once.
+ * <p>
+ * With symmetry reduction the discovered markings are stored as representatives
+ * of their orbits under the {@code Symmetries} of the net, so only one marking
+ * of each orbit is expanded. The search path still consists of the markings
+ * that were actually reached, so a found pair of markings and the problem path
+ * are real. Like the partial order reduced search it runs only once.
+ * <p>
+ * With an inexact {@code VisitedSet}, e.g. a {@code BitstateSet}, the
+ * discovered markings are not stored and the search runs only once, too. A
+ * marking mistaken for a visited one is not expanded, so a part of the state
+ * space may be missed. A found pair of markings is still real.
+ * <p>
+ * The search keeps a frame for each marking on the path instead of recursing,
+ * so its depth is only limited by the heap. Each frame remembers the next
+ * {@code Transition} to try, so the enabled {@code Transition}s of a marking
+ * are determined only once. The frames are kept between calls, so a search
+ * can be paused and continued later.
+ * 
+ * @author j-hap 
+ *
+ */
+class StateSpaceExplorer implements Explorer {
+  private final CompiledNet net;
+  private final VisitedSet visited;
+  // the same as visited if the markings are stored, null otherwise
+  private final StateStore markings;
+  private final int placeCount;
+  private Check check;
+  private long edgeCount = 0;
+  // transitions fired on the current path and the markings before each one
+  private int[] path = new int[64];
+  private int[][] pathMarkings = new int[65][];
+  private int pathLength = 0;
+  // componentwise minimum and minimal token sum of path markings 0..depth
+  private int[] prefixMin;
+  private long[] prefixMinSum = new long[65];
+  // one frame per path marking: its state index, the next transition to try,
+  // its stubborn set, if the transitions outside of the stubborn set are being
+  // fired and if a stubborn transition lead to a visited marking
+  private int[] frameSource = new int[65];
+  private int[] frameCursor = new int[65];
+  private BitSet[] frameStubborn = new BitSet[65];
+  private boolean[] isExpandingRemaining = new boolean[65];
+  private boolean[] hasVisitedSuccessor = new boolean[65];
+  // incoming edges of each state as linked lists over the edge indices, only
+  // used by the backwards search
+  private int[] lastInEdge;
+  private int[] edgeSource;
+  private int[] previousInEdge;
+  private int[] visitStamp;
+  private int currentStamp;
+  private int[][] witness;
+  private ReachabilityGraph recorder;
+  // the graph filled by the current search, if any
+  private ReachabilityGraph graph;
+  private boolean isSecondSearch;
+  private boolean isFirstSearchBounded;
+  private boolean isPaused;
+  private volatile boolean isPauseRequested;
+  private volatile boolean isCancelled;
+  private StubbornSets stubbornSets;
+  private Symmetries symmetries;
+  private static final int UNBOUNDED = -1;
+  private static final int VISITED = 0;
+  private static final int DISCOVERED = 1;
+
+  /**
+   * The comparison a search applies to each fired transition.
+   */
+  private enum Check {
+    /** Compare with the markings on the search path. */
+    PATH,
+    /** Compare with all predecessors, nearest first. */
+    PREDECESSORS,
+    /** Do not compare, the net is known to be bounded. */
+    NONE
+  }
+
+  /**
+   * Creates an explorer for the given net, starting at its initial marking.
+   * 
+   * @param net     The {@code CompiledNet} to explore.
+   * @param visited The empty {@code VisitedSet} that keeps track of the
+   *                discovered markings. The markings are only compared with
+   *                all predecessors if it is a {@code StateStore}.
+   */
+  StateSpaceExplorer(CompiledNet net, VisitedSet visited) {
+    this.net = net;
+    this.visited = visited;
+    markings = visited instanceof StateStore ? (StateStore) visited : null;
+    placeCount = net.getPlaceCount();
+    prefixMin = new int[pathMarkings.length * placeCount];
+  }
+
+  /**
+   * Makes the explorer add every fired transition to the given
+   * {@code ReachabilityGraph}, so it can be displayed. The graph must contain
+   * the initial marking of the explored net. The graph is filled by a second
+   * search after the boundedness has been decided.
+   * 
+   * @param rGraph The {@code ReachabilityGraph} to fill.
+   */
+  void recordInto(ReachabilityGraph rGraph) {
+    recorder = rGraph;
+  }
+
+  /**
+   * Enables the partial order reduction with stubborn sets.
+   */
+  void reduce() {
+    stubbornSets = new StubbornSets(net);
+  }
+
+  /**
+   * Enables the symmetry reduction.
+   * 
+   * @param netSymmetries The {@code Symmetries} of the explored net.
+   */
+  void useSymmetries(Symmetries netSymmetries) {
+    symmetries = netSymmetries;
+  }
+
+  /**
+   * Makes a running {@link #explore()} return as soon as possible. May be
+   * called from another thread. A request that arrives after the search is
+   * done is dropped when the next search starts.
+   */
+  void pause() {
+    isPauseRequested = true;
+  }
+
+  /**
+   * @return True if the last {@link #explore()} returned because of
+   *         {@link #pause()} or {@link #cancel()}. Calling it again continues
+   *         the search.
+   */
+  boolean isPaused() {
+    return isPaused;
+  }
+
+  /**
+   * {@inheritDoc} Unlike {@link #pause()}, every later call of
+   * {@link #explore()} returns at once as well.
+   */
+  @Override
+  public void cancel() {
+    isCancelled = true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isStopped() {
+    return isPaused;
+  }
+
+  /**
+   * {@inheritDoc} These are the markings on the search path.
+   */
+  @Override
+  public long getPendingCount() {
+    return pathLength + 1;
+  }
+
+  /**
+   * {@inheritDoc} Continues the search if it was paused.
+   */
+  @Override
+  public boolean explore() {
+    var isSingleSearch = stubbornSets != null || symmetries != null || markings == null;
+    if (!isPaused) {
+      // a late request for the search before
+      isPauseRequested = false;
+      isSecondSearch = false;
+      startSearch(Check.PATH, isSingleSearch ? recorder : null);
+    }
+    isPaused = false;
+    while (true) {
+      var isBounded = runSearch();
+      if (isPaused) {
+        return true;
+      }
+      if (isSingleSearch) {
+        return recordResult(isBounded);
+      }
+      if (isSecondSearch) {
+        return recordResult(isFirstSearchBounded);
+      }
+      if (isBounded && recorder == null) {
+        return true;
+      }
+      isFirstSearchBounded = isBounded;
+      isSecondSearch = true;
+      startSearch(isBounded ? Check.NONE : Check.PREDECESSORS, recorder);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getNodeCount() {
+    return visited.count();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getEdgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<String> getProblemPath() {
+    var ids = new ArrayList<String>(pathLength);
+    for (int i = 0; i < pathLength; ++i) {
+      ids.add(net.getTransitionId(path[i]));
+    }
+    return ids;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Marking> getProblemMarkings() {
+    return List.of(Marking.wrap(witness[0]), Marking.wrap(witness[1]));
+  }
+
+  private boolean recordResult(boolean isBounded) {
+    if (!isBounded && recorder != null) {
+      recorder.markUnbounded(Marking.wrap(witness[0]), Marking.wrap(witness[1]));
+    }
+    return isBounded;
+  }
+
+  private void startSearch(Check newCheck, ReachabilityGraph rGraph) {
+    check = newCheck;
+    graph = rGraph;
+    visited.clear();
+    edgeCount = 0;
+    pathLength = 0;
+    if (check == Check.PREDECESSORS) {
+      lastInEdge = new int[1024];
+      Arrays.fill(lastInEdge, -1);
+      edgeSource = new int[1024];
+      previousInEdge = new int[1024];
+      visitStamp = new int[1024];
+    }
+    var initialMarking = net.getInitialMarking();
+    addState(orbitKey(initialMarking));
+    enterFrame(0, initialMarking);
+  }
+
+  private int[] orbitKey(int[] marking) {
+    return symmetries == null ? marking : symmetries.canonical(marking);
+  }
+
+  // depth first search on the frames of the path, visits states in order of
+  // discovery
+  private boolean runSearch() {
+    while (true) {
+      if (isPauseRequested || isCancelled) {
+        isPauseRequested = false;
+        isPaused = true;
+        return true;
+      }
+      var depth = pathLength;
+      var t = nextTransition(depth);
+      if (t < 0) {
+        if (depth == 0) {
+          return true;
+        }
+        --pathLength;
+        continue;
+      }
+      var status = fire(frameSource[depth], pathMarkings[depth], t);
+      if (status == UNBOUNDED) {
+        return false;
+      }
+      hasVisitedSuccessor[depth] |= status == VISITED;
+    }
+  }
+
+  // advances the cursor of the frame to the next transition to fire, returns
+  // -1 if there is none
+  private int nextTransition(int depth) {
+    var marking = pathMarkings[depth];
+    var stubborn = frameStubborn[depth];
+    while (true) {
+      for (int t = frameCursor[depth]; t < net.getTransitionCount(); ++t) {
+        if (net.isEnabled(marking, t) && (stubborn == null || stubborn.get(t) != isExpandingRemaining[depth])) {
+          frameCursor[depth] = t + 1;
+          return t;
+        }
+      }
+      if (stubborn == null || isExpandingRemaining[depth] || !hasVisitedSuccessor[depth]) {
+        return -1;
+      }
+      // fires the enabled transitions that are not in the stubborn set
+      isExpandingRemaining[depth] = true;
+      frameCursor[depth] = 0;
+    }
+  }
+
+  // puts a new marking on the path, the transition that lead to it is already
+  // on the path
+  private void enterFrame(int source, int[] marking) {
+    enterPath(marking);
+    var depth = pathLength;
+    frameSource[depth] = source;
+    frameCursor[depth] = 0;
+    frameStubborn[depth] = stubbornSets == null ? null : stubbornSets.compute(marking);
+    isExpandingRemaining[depth] = false;
+    hasVisitedSuccessor[depth] = false;
+  }
+
+  private int fire(int source, int[] marking, int t) {
+    var next = net.fire(marking, t);
+    var nodeCount = visited.count();
+    var target = addState(orbitKey(next));
+    var isNew = visited.count() > nodeCount;
+    addEdge(source, target);
+    if (graph != null) {
+      graph.addMarking(net.getTransitionId(t), net.getTransitionLabel(t), Marking.wrap(marking),
+          Marking.wrap(next), false);
+    }
+    path[pathLength++] = t;
+    if (!checkBounded(target, next)) {
+      return UNBOUNDED;
+    }
+    if (isNew) {
+      enterFrame(target, next);
+      return DISCOVERED;
+    }
+    --pathLength;
+    return VISITED;
+  }
+
+  // returns the index of the marking, or -1 if markings are not stored
+  private int addState(int[] marking) {
+    if (markings == null) {
+      visited.visit(marking);
+      return -1;
+    }
+    var id = markings.add(marking);
+    if (check == Check.PREDECESSORS && id == lastInEdge.length) {
+      var oldLength = lastInEdge.length;
+      lastInEdge = Arrays.copyOf(lastInEdge, 2 * oldLength);
+      Arrays.fill(lastInEdge, oldLength, lastInEdge.length, -1);
+      visitStamp = Arrays.copyOf(visitStamp, lastInEdge.length);
+    }
+    return id;
+  }
+
+  private void addEdge(int source, int target) {
+    if (check == Check.PREDECESSORS) {
+      if (edgeCount == edgeSource.length) {
+        var newLength = 2 * edgeSource.length;
+        edgeSource = Arrays.copyOf(edgeSource, newLength);
+        previousInEdge = Arrays.copyOf(previousInEdge, newLength);
+      }
+      var edge = (int) edgeCount;
+      edgeSource[edge] = source;
+      previousInEdge[edge] = lastInEdge[target];
+      lastInEdge[target] = edge;
+    }
+    ++edgeCount;
+  }
+
+  // puts the marking before the next transition on the path and updates the
+  // prefix summaries
+  private void enterPath(int[] marking) {
+    var depth = pathLength;
+    if (depth == path.length) {
+      path = Arrays.copyOf(path, 2 * depth);
+      pathMarkings = Arrays.copyOf(pathMarkings, 2 * depth + 1);
+      prefixMin = Arrays.copyOf(prefixMin, pathMarkings.length * placeCount);
+      prefixMinSum = Arrays.copyOf(prefixMinSum, pathMarkings.length);
+      frameSource = Arrays.copyOf(frameSource, pathMarkings.length);
+      frameCursor = Arrays.copyOf(frameCursor, pathMarkings.length);
+      frameStubborn = Arrays.copyOf(frameStubborn, pathMarkings.length);
+      isExpandingRemaining = Arrays.copyOf(isExpandingRemaining, pathMarkings.length);
+      hasVisitedSuccessor = Arrays.copyOf(hasVisitedSuccessor, pathMarkings.length);
+    }
+    pathMarkings[depth] = marking;
+    if (check != Check.PATH) {
+      return;
+    }
+    var offset = depth * placeCount;
+    long sum = 0;
+    for (int i = 0; i < placeCount; ++i) {
+      sum += marking[i];
+      prefixMin[offset + i] = depth == 0 ? marking[i] : Math.min(prefixMin[offset - placeCount + i], marking[i]);
+    }
+    prefixMinSum[depth] = depth == 0 ? sum : Math.min(prefixMinSum[depth - 1], sum);
+  }
+
+  private boolean checkBounded(int target, int[] next) {
+    return switch (check) {
+    case PATH -> checkPath(next);
+    case PREDECESSORS -> checkPredecessors(target);
+    case NONE -> true;
+    };
+  }
+
+  // compares with the markings on the path, starting at the direct
+  // predecessor, until no marking closer to the root can be covered
+  private boolean checkPath(int[] next) {
+    long sum = 0;
+    for (var tokens : next) {
+      sum += tokens;
+    }
+    for (int depth = pathLength - 1; depth >= 0; --depth) {
+      // m' > m requires more tokens in total and no smaller token count
+      if (prefixMinSum[depth] >= sum || !isCovered(depth, next)) {
+        return true;
+      }
+      if (isGreater(next, pathMarkings[depth])) {
+        witness = new int[][] { pathMarkings[depth], next };
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isCovered(int depth, int[] marking) {
+    var offset = depth * placeCount;
+    for (int i = 0; i < placeCount; ++i) {
+      if (prefixMin[offset + i] > marking[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // walks backwards from the start state through the explored graph and
+  // compares with all predecessors, see ReachabilityGraph
+  private boolean checkPredecessors(int start) {
+    ++currentStamp;
+    visitStamp[start] = currentStamp;
+    var startMarking = markings.get(start);
+    var q = new ArrayDeque<Integer>();
+    addPredecessors(start, q);
+    while (!q.isEmpty()) {
+      int other = q.removeFirst();
+      if (visitStamp[other] == currentStamp) {
+        continue;
+      }
+      var otherMarking = markings.get(other);
+      if (isGreater(startMarking, otherMarking)) {
+        witness = new int[][] { otherMarking, startMarking };
+        return false;
+      }
+      addPredecessors(other, q);
+      visitStamp[other] = currentStamp;
+    }
+    return true;
+  }
+
+  private void addPredecessors(int state, ArrayDeque<Integer> q) {
+    for (int e = lastInEdge[state]; e >= 0; e = previousInEdge[e]) {
+      q.addLast(edgeSource[e]);
+    }
+  }
+
+  /**
+   * The m &lt;-&gt; m' relation on token arrays of equal length.
+   * 
+   * @param big   Token counts of m'.
+   * @param small Token counts of m.
+   * @return True if no token count of big is smaller than in small and at least
+   *         one is bigger.
+   * @see Marking#compareTo(Marking)
+   */
+  static boolean isGreater(int[] big, int[] small) {
+    var isBigger = false;
+    for (int i = 0; i < big.length; ++i) {
+      if (big[i] < small[i]) {
+        return false;
+      }
+      isBigger |= big[i] > small[i];
+    }
+    return isBigger;
+  }
+}
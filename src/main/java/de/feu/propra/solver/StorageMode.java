@@ -0,0 +1,44 @@
+package de.feu.propra.solver;
+
+/**
+ * Determines where a {@code BoundednessSolver} keeps the markings it has
+ * already explored.
+ * 
+ * @author j-hap 
+ *
+ */
+public enum StorageMode {
+  /**
+   * Markings are kept on the Java heap. Fastest for state spaces that fit into
+   * the heap comfortably.
+   */
+  HEAP,
+  /**
+   * Markings are kept in direct memory outside of the Java heap, so tens of
+   * millions of markings fit without garbage collection pressure.
+   */
+  OFF_HEAP,
+  /**
+   * Markings are not kept at all, only a few bits per marking are set in a
+   * fixed size bit array. Some markings may be skipped, so a bounded verdict is
+   * only probable. An unbounded verdict is still certain.
+   * 
+   * @see de.feu.propra.reachability.BitstateSet
+   */
+  BITSTATE,
+  /**
+   * Only a 64 bit fingerprint of each marking is kept. Two markings with the
+   * same fingerprint are taken for one, which is very unlikely, so a bounded
+   * verdict is almost certain. An unbounded verdict is certain.
+   * 
+   * @see de.feu.propra.reachability.FingerprintSet
+   */
+  HASH_COMPACTION,
+  /**
+   * Markings are kept in sorted files on disk and explored breadth first, only
+   * the current layer is kept in memory. Slower than the other modes, but
+   * bounded by the disk rather than the heap. Not used while the graph is
+   * recorded.
+   */
+  EXTERNAL;
+}
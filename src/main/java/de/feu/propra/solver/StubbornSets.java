@@ -0,0 +1,137 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import de.feu.propra.petrinet.CompiledNet;
+
+/**
+ * Computes stubborn sets of {@code Transition}s for a partial order reduced
+ * search. A set is stubborn in a marking if it contains an enabled
+ * {@code Transition}, if every {@code Transition} that takes a token from the
+ * same {@code Place} as an enabled member belongs to it and if, for every
+ * disabled member, all {@code Transition}s that put a token on one of its empty
+ * predecessor {@code Place}s belong to it. {@code Transition}s outside of the
+ * set can then neither disable nor enable a member, so firing only the enabled
+ * members loses no behavior up to the order of independent
+ * {@code Transition}s.
+ * 
+ * @author j-hap 
+ *
+ */
+class StubbornSets {
+  private final CompiledNet net;
+  private final int[][] presets;
+  // transitions that take a token from / put a token on each place
+  private final int[][] consumers;
+  private final int[][] producers;
+
+  /**
+   * Creates the conflict tables of the given net.
+   * 
+   * @param net The {@code CompiledNet} to reduce.
+   */
+  StubbornSets(CompiledNet net) {
+    this.net = net;
+    presets = new int[net.getTransitionCount()][];
+    for (int t = 0; t < presets.length; ++t) {
+      presets[t] = net.getPreset(t);
+    }
+    consumers = invert(net, true);
+    producers = invert(net, false);
+  }
+
+  /**
+   * Computes a stubborn set for the given marking. Each enabled
+   * {@code Transition} outside the best set found so far is tried as seed and
+   * the set with the fewest enabled members is returned. The result is a
+   * stubborn set, but not necessarily the smallest one.
+   * 
+   * @param marking Token count per {@code Place}.
+   * @return The members of the stubborn set, or null if no {@code Transition}
+   *         is enabled.
+   */
+  BitSet compute(int[] marking) {
+    BitSet best = null;
+    var bestCount = Integer.MAX_VALUE;
+    for (int seed = 0; seed < net.getTransitionCount(); ++seed) {
+      if (!net.isEnabled(marking, seed) || (best != null && best.get(seed))) {
+        // heuristic: the closure of a seed inside the best set is a subset of
+        // it and may have fewer enabled members, it is skipped anyway to save
+        // closure computations
+        continue;
+      }
+      var candidate = closure(marking, seed);
+      var count = countEnabled(marking, candidate);
+      if (count < bestCount) {
+        best = candidate;
+        bestCount = count;
+      }
+      if (bestCount == 1) {
+        break;
+      }
+    }
+    return best;
+  }
+
+  private BitSet closure(int[] marking, int seed) {
+    var members = new BitSet(net.getTransitionCount());
+    var work = new ArrayList<Integer>();
+    members.set(seed);
+    work.add(seed);
+    while (!work.isEmpty()) {
+      int t = work.remove(work.size() - 1);
+      if (net.isEnabled(marking, t)) {
+        for (var p : presets[t]) {
+          addAll(consumers[p], members, work);
+        }
+      } else {
+        addAll(producers[emptyPredecessor(marking, t)], members, work);
+      }
+    }
+    return members;
+  }
+
+  // the empty predecessor place with the fewest producers
+  private int emptyPredecessor(int[] marking, int transition) {
+    var scapegoat = -1;
+    for (var p : presets[transition]) {
+      if (marking[p] == 0 && (scapegoat < 0 || producers[p].length < producers[scapegoat].length)) {
+        scapegoat = p;
+      }
+    }
+    return scapegoat;
+  }
+
+  private int countEnabled(int[] marking, BitSet members) {
+    var count = 0;
+    for (int t = members.nextSetBit(0); t >= 0; t = members.nextSetBit(t + 1)) {
+      if (net.isEnabled(marking, t)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  private static void addAll(int[] transitions, BitSet members, List<Integer> work) {
+    for (var t : transitions) {
+      if (!members.get(t)) {
+        members.set(t);
+        work.add(t);
+      }
+    }
+  }
+
+  private static int[][] invert(CompiledNet net, boolean preset) {
+    var lists = new int[net.getPlaceCount()][0];
+    for (int t = 0; t < net.getTransitionCount(); ++t) {
+      for (var p : preset ? net.getPreset(t) : net.getPostset(t)) {
+        lists[p] = Arrays.copyOf(lists[p], lists[p].length + 1);
+        lists[p][lists[p].length - 1] = t;
+      }
+    }
+    return lists;
+  }
+}
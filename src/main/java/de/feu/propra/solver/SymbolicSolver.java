@@ -0,0 +1,129 @@
+package de.feu.propra.solver;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.reachability.Marking;
+import de.feu.propra.reachability.MinimalCoverabilitySet;
+
+/**
+ * The {@code SymbolicSolver} is an alternative to the {@code BoundednessSolver}
+ * for bounded nets with very large state spaces. It encodes all reachable
+ * markings in a decision diagram instead of storing them one by one, so node
+ * and edge count of reachability graphs with billions of markings can be
+ * computed in little memory. The {@code ReachabilityGraph} of the
+ * {@code PetriNet} is not filled.
+ * <p>
+ * A decision diagram can not hold infinitely many markings and yields no path
+ * to an m &lt;-&gt; m' pair. The token count of each {@code Place} is
+ * therefore limited to a small number first. Nets that exceed it are checked
+ * with the {@code MinimalCoverabilitySet}: unbounded nets are handed to the
+ * {@code BoundednessSolver}, which reports the pair of markings, bounded nets
+ * are explored again with their actual bounds as limit.
+ * 
+ * @author j-hap 
+ *
+ */
+public class SymbolicSolver {
+  private PetriNet net;
+  // most nets of interest are safe or hold only a few tokens per place
+  private static final int INITIAL_TOKEN_LIMIT = 15;
+  private static final Logger logger = Logger.getLogger(SymbolicSolver.class.getName());
+  private long timeLimit = 0;
+  private long deadline;
+  private volatile boolean isCancelled;
+  // checks unbounded nets, so it is cancelled as well
+  private volatile BoundednessSolver explicitSolver;
+
+  /**
+   * Creates a {@code SymbolicSolver}, that operates on the given model.
+   * 
+   * @param petriNet The {@code PetriNet} model on which the solver operates.
+   */
+  public SymbolicSolver(PetriNet petriNet) {
+    net = petriNet;
+    net.resetPlaces();
+  }
+
+  /**
+   * Limits the wall time of {@link #solve()}. When it is used up, the solver
+   * stops with a {@code BoundednessSolverResult} of status
+   * {@code SolverStatus.TIME_LIMIT}. No limit by default.
+   * 
+   * @param milliseconds The time budget, 0 for no limit.
+   */
+  public void setTimeLimit(long milliseconds) {
+    timeLimit = milliseconds;
+  }
+
+  /**
+   * Makes a running {@link #solve()} return as soon as possible, with a
+   * {@code BoundednessSolverResult} of status {@code SolverStatus.CANCELLED}.
+   * May be called from another thread, also before {@code solve()}.
+   */
+  public void cancel() {
+    isCancelled = true;
+    var solver = explicitSolver;
+    if (solver != null) {
+      solver.cancel();
+    }
+  }
+
+  /**
+   * Runs the boundedness check on the associated {@code PetriNet} model.
+   * 
+   * @return The {@code BoundednessSolverResult} object with the solver results.
+   *         Only holds the status if it was cancelled or ran out of time.
+   */
+  public BoundednessSolverResult solve() {
+    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimit);
+    var compiledNet = new CompiledNet(net);
+    try {
+      try {
+        return count(new SymbolicStateSpace(compiledNet, INITIAL_TOKEN_LIMIT, this::isStopped));
+      } catch (SymbolicStateSpace.TokenLimitExceededException e) {
+        logger.fine(e.getMessage());
+      }
+      var bounds = new MinimalCoverabilitySet(compiledNet, this::isStopped).getBounds();
+      var limit = Arrays.stream(bounds).max().orElse(0);
+      if (limit == Marking.OMEGA) {
+        return solveExplicitly();
+      }
+      return count(new SymbolicStateSpace(compiledNet, limit, this::isStopped));
+    } catch (CancellationException e) {
+      var result = new BoundednessSolverResult();
+      result.status = isCancelled ? SolverStatus.CANCELLED : SolverStatus.TIME_LIMIT;
+      result.isBounded = null;
+      return result;
+    }
+  }
+
+  // finds the m, m' pair of an unbounded net with the rest of the time
+  private BoundednessSolverResult solveExplicitly() {
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    if (timeLimit > 0) {
+      solver.setTimeLimit(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+    }
+    explicitSolver = solver;
+    if (isCancelled) {
+      solver.cancel();
+    }
+    return solver.solve();
+  }
+
+  private boolean isStopped() {
+    return isCancelled || timeLimit > 0 && System.nanoTime() - deadline > 0;
+  }
+
+  private static BoundednessSolverResult count(SymbolicStateSpace stateSpace) {
+    var result = new BoundednessSolverResult();
+    result.nodeCount = stateSpace.countMarkings();
+    result.edgeCount = stateSpace.countEdges();
+    return result;
+  }
+}
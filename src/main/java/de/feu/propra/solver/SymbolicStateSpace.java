@@ -0,0 +1,363 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import de.feu.propra.petrinet.CompiledNet;
+
+/**
+ * The reachable markings of a {@code CompiledNet}, encoded as a multi-valued
+ * decision diagram (MDD) with one level per {@code Place} and one child per
+ * token count. Nodes are kept unique through a hash table, so equal sub-sets
+ * of markings are stored only once, and the results of union and image
+ * operations are cached by node.
+ * <p>
+ * The state space is computed by saturation: each {@code Transition} only
+ * changes the token counts between its highest and lowest {@code Place}, so
+ * it is applied to the nodes at its highest level until they reach a fixpoint,
+ * after all nodes below have reached theirs. The sub-diagrams stay small
+ * during the whole construction, which makes the encoding of very large state
+ * spaces of concurrent nets feasible.
+ * <p>
+ * Token counts are limited, so the diagram stays finite for unbounded nets as
+ * well. A {@code TokenLimitExceededException} is thrown as soon as a marking
+ * with more tokens at a {@code Place} is reached.
+ * <p>
+ * The construction can be stopped from the outside, e.g. when the time budget
+ * is used up, it throws a {@code CancellationException} then.
+ * 
+ * @author j-hap 
+ *
+ */
+class SymbolicStateSpace {
+  /**
+   * Thrown when a marking exceeds the token limit.
+   */
+  static class TokenLimitExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    TokenLimitExceededException(int limit) {
+      super("A place has more than " + limit + " tokens.");
+    }
+  }
+
+  // the terminal nodes, the empty set and the set of the empty marking
+  private static final int EMPTY = 0;
+  private static final int ONE = 1;
+  private final CompiledNet net;
+  private final int tokenLimit;
+  private final int levelCount;
+  // token count taken and given by each transition at each level, 1 based
+  private final int[][] take;
+  private final int[][] give;
+  private final int[] top;
+  private final int[] bottom;
+  // transitions by their top level
+  private final List<List<Integer>> eventsAtLevel = new ArrayList<>();
+  // node storage, indexed by node id
+  private int[] nodeLevel = new int[1024];
+  private int[][] nodeChildren = new int[1024][];
+  private int nodeCount = 2;
+  private final Map<NodeKey, Integer> uniqueTable = new HashMap<>();
+  private final Map<Long, Integer> unionCache = new HashMap<>();
+  private final Map<Long, Integer> imageCache = new HashMap<>();
+  private int[] saturated = new int[1024];
+  private int reachable;
+  private final BooleanSupplier isStopped;
+
+  /**
+   * Identifies a node by its level and its children.
+   */
+  private static final class NodeKey {
+    final int level;
+    final int[] children;
+    final int hash;
+
+    NodeKey(int level, int[] children) {
+      this.level = level;
+      this.children = children;
+      hash = 31 * level + Arrays.hashCode(children);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof NodeKey)) {
+        return false;
+      }
+      var other = (NodeKey) obj;
+      return level == other.level && Arrays.equals(children, other.children);
+    }
+  }
+
+  /**
+   * Computes the reachable markings of the given net.
+   * 
+   * @param net        The {@code CompiledNet} to explore.
+   * @param tokenLimit The maximal token count of a {@code Place}.
+   * @throws TokenLimitExceededException If a reachable marking exceeds the
+   *                                     token limit.
+   */
+  SymbolicStateSpace(CompiledNet net, int tokenLimit) {
+    this(net, tokenLimit, () -> false);
+  }
+
+  /**
+   * Computes the reachable markings of the given net, unless it is stopped
+   * from the outside.
+   * 
+   * @param net        The {@code CompiledNet} to explore.
+   * @param tokenLimit The maximal token count of a {@code Place}.
+   * @param isStopped  Asked before each round of firings, the construction is
+   *                   abandoned when it returns true.
+   * @throws TokenLimitExceededException If a reachable marking exceeds the
+   *                                     token limit.
+   * @throws CancellationException       If {@code isStopped} returned true.
+   */
+  SymbolicStateSpace(CompiledNet net, int tokenLimit, BooleanSupplier isStopped) {
+    this.net = net;
+    this.tokenLimit = tokenLimit;
+    this.isStopped = isStopped;
+    levelCount = net.getPlaceCount();
+    var transitionCount = net.getTransitionCount();
+    take = new int[transitionCount][levelCount + 1];
+    give = new int[transitionCount][levelCount + 1];
+    top = new int[transitionCount];
+    bottom = new int[transitionCount];
+    for (int level = 0; level <= levelCount; ++level) {
+      eventsAtLevel.add(new ArrayList<>());
+    }
+    for (int t = 0; t < transitionCount; ++t) {
+      bottom[t] = levelCount + 1;
+      for (var p : net.getPreset(t)) {
+        take[t][p + 1] = 1;
+        touch(t, p + 1);
+      }
+      for (var p : net.getPostset(t)) {
+        give[t][p + 1] = 1;
+        touch(t, p + 1);
+      }
+      // transitions without places can not change the marking
+      if (top[t] > 0) {
+        eventsAtLevel.get(top[t]).add(t);
+      }
+    }
+    reachable = saturate(levelCount, encode(net.getInitialMarking()));
+  }
+
+  /**
+   * @return The number of reachable markings.
+   * @throws ArithmeticException If the number does not fit into a long.
+   */
+  long countMarkings() {
+    return count(reachable, new HashMap<>(), -1);
+  }
+
+  /**
+   * @return The number of pairs of a reachable marking and a {@code Transition}
+   *         that is enabled in it, i.e. the edges of the reachability graph.
+   * @throws ArithmeticException If the number does not fit into a long.
+   */
+  long countEdges() {
+    long edges = 0;
+    for (int t = 0; t < net.getTransitionCount(); ++t) {
+      edges = Math.addExact(edges, count(reachable, new HashMap<>(), t));
+    }
+    return edges;
+  }
+
+  private void touch(int t, int level) {
+    top[t] = Math.max(top[t], level);
+    bottom[t] = Math.min(bottom[t], level);
+  }
+
+  private int encode(int[] marking) {
+    var node = ONE;
+    for (int level = 1; level <= levelCount; ++level) {
+      var children = new int[marking[level - 1] + 1];
+      children[marking[level - 1]] = node;
+      node = unique(level, children);
+    }
+    return node;
+  }
+
+  // the saturated node of the given one, i.e. closed under all transitions
+  // whose top level is at most the level of the node
+  private int saturate(int level, int node) {
+    if (level == 0 || node == EMPTY) {
+      return node;
+    }
+    if (node < saturated.length && saturated[node] != 0) {
+      return saturated[node];
+    }
+    var children = nodeChildren[node].clone();
+    for (int i = 0; i < children.length; ++i) {
+      children[i] = saturate(level - 1, children[i]);
+    }
+    children = fireUntilFixpoint(level, children);
+    var result = unique(level, children);
+    remember(node, result);
+    remember(result, result);
+    return result;
+  }
+
+  private int[] fireUntilFixpoint(int level, int[] children) {
+    var changed = true;
+    while (changed) {
+      if (isStopped.getAsBoolean()) {
+        throw new CancellationException();
+      }
+      changed = false;
+      for (int t : eventsAtLevel.get(level)) {
+        for (int i = 0; i < children.length; ++i) {
+          if (children[i] == EMPTY || i < take[t][level]) {
+            continue;
+          }
+          var image = image(level - 1, children[i], t);
+          if (image == EMPTY) {
+            continue;
+          }
+          var j = target(t, level, i);
+          if (j >= children.length) {
+            children = Arrays.copyOf(children, j + 1);
+          }
+          var union = union(level - 1, children[j], image);
+          if (union != children[j]) {
+            children[j] = union;
+            changed = true;
+          }
+        }
+      }
+    }
+    return children;
+  }
+
+  // the saturated successors of the given saturated node under the
+  // transition, restricted to the levels up to the given one
+  private int image(int level, int node, int t) {
+    if (level < bottom[t] || node == EMPTY) {
+      return node;
+    }
+    var key = ((long) node << 32) | t;
+    var cached = imageCache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    var source = nodeChildren[node];
+    var children = new int[0];
+    for (int i = take[t][level]; i < source.length; ++i) {
+      if (source[i] == EMPTY) {
+        continue;
+      }
+      var image = image(level - 1, source[i], t);
+      if (image == EMPTY) {
+        continue;
+      }
+      var j = target(t, level, i);
+      if (j >= children.length) {
+        children = Arrays.copyOf(children, j + 1);
+      }
+      children[j] = union(level - 1, children[j], image);
+    }
+    var result = saturate(level, unique(level, children));
+    imageCache.put(key, result);
+    return result;
+  }
+
+  private int target(int t, int level, int tokens) {
+    var j = tokens - take[t][level] + give[t][level];
+    if (j > tokenLimit) {
+      throw new TokenLimitExceededException(tokenLimit);
+    }
+    return j;
+  }
+
+  private int union(int level, int a, int b) {
+    if (a == EMPTY || a == b) {
+      return b;
+    }
+    if (b == EMPTY) {
+      return a;
+    }
+    if (level == 0) {
+      return ONE;
+    }
+    var key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    var cached = unionCache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    var left = nodeChildren[a];
+    var right = nodeChildren[b];
+    var children = new int[Math.max(left.length, right.length)];
+    for (int i = 0; i < children.length; ++i) {
+      children[i] = union(level - 1, i < left.length ? left[i] : EMPTY, i < right.length ? right[i] : EMPTY);
+    }
+    var result = unique(level, children);
+    unionCache.put(key, result);
+    return result;
+  }
+
+  // returns the existing node with the given children or creates it
+  private int unique(int level, int[] children) {
+    var length = children.length;
+    while (length > 0 && children[length - 1] == EMPTY) {
+      --length;
+    }
+    if (length == 0) {
+      return EMPTY;
+    }
+    var key = new NodeKey(level, length == children.length ? children : Arrays.copyOf(children, length));
+    var existing = uniqueTable.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    if (nodeCount == nodeLevel.length) {
+      nodeLevel = Arrays.copyOf(nodeLevel, 2 * nodeCount);
+      nodeChildren = Arrays.copyOf(nodeChildren, 2 * nodeCount);
+    }
+    nodeLevel[nodeCount] = level;
+    nodeChildren[nodeCount] = key.children;
+    uniqueTable.put(key, nodeCount);
+    return nodeCount++;
+  }
+
+  private void remember(int node, int result) {
+    if (node >= saturated.length) {
+      saturated = Arrays.copyOf(saturated, Math.max(2 * saturated.length, node + 1));
+    }
+    saturated[node] = result;
+  }
+
+  // number of markings below the node, only those that enable the transition
+  // if it is not negative
+  private long count(int node, Map<Integer, Long> memo, int t) {
+    if (node == EMPTY) {
+      return 0;
+    }
+    if (node == ONE) {
+      return 1;
+    }
+    var cached = memo.get(node);
+    if (cached != null) {
+      return cached;
+    }
+    var level = nodeLevel[node];
+    var children = nodeChildren[node];
+    long sum = 0;
+    for (int i = t < 0 ? 0 : take[t][level]; i < children.length; ++i) {
+      sum = Math.addExact(sum, count(children[i], memo, t));
+    }
+    memo.put(node, sum);
+    return sum;
+  }
+}
@@ -0,0 +1,230 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.feu.propra.petrinet.CompiledNet;
+
+/**
+ * The structural symmetries of a {@code CompiledNet}, i.e. the permutations of
+ * the {@code Place}s that map the net onto itself, together with a matching
+ * permutation of the {@code Transition}s, and keep the initial marking. A
+ * permuted reachable marking is reachable as well and behaves the same, so a
+ * search only has to visit one marking of each orbit.
+ * <p>
+ * The symmetries are found by a backtracking search over the {@code Place}s
+ * that only maps {@code Place}s with equal refined colors onto each other.
+ * Since nets of N identical components have up to N! symmetries, the search
+ * stops after {@value #MAX_SYMMETRIES} symmetries or {@value #MAX_STEPS}
+ * steps. Markings are then only mapped to the smallest image under the found
+ * symmetries, which is still a marking of the same orbit.
+ * 
+ * @author j-hap 
+ *
+ */
+class Symmetries {
+  static final int MAX_SYMMETRIES = 5040;
+  static final int MAX_STEPS = 1_000_000;
+  private final int placeCount;
+  private final int[][] presets;
+  private final int[][] postsets;
+  // relation of each pair of places, compared for every new assignment
+  private final long[][] relation;
+  private final int[] color;
+  private final Map<String, Integer> transitionKeys = new HashMap<>();
+  // inverse place permutations, the identity is not stored
+  private final List<int[]> inverses = new ArrayList<>();
+  private int steps = 0;
+
+  /**
+   * Searches the symmetries of the given net.
+   * 
+   * @param net The {@code CompiledNet} to analyze.
+   */
+  Symmetries(CompiledNet net) {
+    placeCount = net.getPlaceCount();
+    presets = new int[net.getTransitionCount()][];
+    postsets = new int[net.getTransitionCount()][];
+    for (int t = 0; t < presets.length; ++t) {
+      presets[t] = net.getPreset(t);
+      postsets[t] = net.getPostset(t);
+      transitionKeys.merge(key(presets[t], postsets[t]), 1, Integer::sum);
+    }
+    relation = computeRelation();
+    color = refineColors(net.getInitialMarking());
+    var image = new int[placeCount];
+    Arrays.fill(image, -1);
+    search(0, image, new boolean[placeCount]);
+  }
+
+  /**
+   * @return The number of found symmetries, including the identity.
+   */
+  int size() {
+    return inverses.size() + 1;
+  }
+
+  /**
+   * Maps a marking to a representative of its orbit.
+   * 
+   * @param marking Token count per {@code Place}. Is not modified.
+   * @return The lexicographically smallest image of the marking under the found
+   *         symmetries. The given array itself if it is the smallest.
+   */
+  int[] canonical(int[] marking) {
+    int[] best = null;
+    for (var inverse : inverses) {
+      var reference = best == null ? marking : best;
+      if (isSmaller(marking, inverse, reference)) {
+        best = permute(marking, inverse);
+      }
+    }
+    return best == null ? marking : best;
+  }
+
+  // compares the permuted marking with the reference without building it
+  private boolean isSmaller(int[] marking, int[] inverse, int[] reference) {
+    for (int i = 0; i < placeCount; ++i) {
+      var tokens = marking[inverse[i]];
+      if (tokens != reference[i]) {
+        return tokens < reference[i];
+      }
+    }
+    return false;
+  }
+
+  private int[] permute(int[] marking, int[] inverse) {
+    var image = new int[placeCount];
+    for (int i = 0; i < placeCount; ++i) {
+      image[i] = marking[inverse[i]];
+    }
+    return image;
+  }
+
+  private void search(int place, int[] image, boolean[] used) {
+    if (inverses.size() + 1 >= MAX_SYMMETRIES || ++steps > MAX_STEPS) {
+      return;
+    }
+    if (place == placeCount) {
+      if (mapsTransitions(image) && !isIdentity(image)) {
+        var inverse = new int[placeCount];
+        for (int p = 0; p < placeCount; ++p) {
+          inverse[image[p]] = p;
+        }
+        inverses.add(inverse);
+      }
+      return;
+    }
+    for (int q = 0; q < placeCount; ++q) {
+      if (!used[q] && color[q] == color[place] && isConsistent(place, q, image)) {
+        image[place] = q;
+        used[q] = true;
+        search(place + 1, image, used);
+        used[q] = false;
+        image[place] = -1;
+      }
+    }
+  }
+
+  private boolean isConsistent(int place, int q, int[] image) {
+    if (relation[place][place] != relation[q][q]) {
+      return false;
+    }
+    for (int p = 0; p < place; ++p) {
+      if (relation[place][p] != relation[q][image[p]]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean mapsTransitions(int[] image) {
+    var remaining = new HashMap<>(transitionKeys);
+    for (int t = 0; t < presets.length; ++t) {
+      var key = key(map(presets[t], image), map(postsets[t], image));
+      var count = remaining.merge(key, -1, Integer::sum);
+      if (count == null || count < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int[] map(int[] places, int[] image) {
+    var mapped = new int[places.length];
+    for (int i = 0; i < places.length; ++i) {
+      mapped[i] = image[places[i]];
+    }
+    Arrays.sort(mapped);
+    return mapped;
+  }
+
+  private static String key(int[] preset, int[] postset) {
+    return Arrays.toString(preset) + Arrays.toString(postset);
+  }
+
+  private static boolean isIdentity(int[] image) {
+    for (int p = 0; p < image.length; ++p) {
+      if (image[p] != p) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // counts for each pair of places the transitions that take from or put onto
+  // both of them, packed into one number per pair
+  private long[][] computeRelation() {
+    var rel = new long[placeCount][placeCount];
+    for (int t = 0; t < presets.length; ++t) {
+      for (var p : presets[t]) {
+        for (var q : presets[t]) {
+          rel[p][q] += 1L;
+        }
+        for (var q : postsets[t]) {
+          rel[p][q] += 1L << 16;
+          rel[q][p] += 1L << 32;
+        }
+      }
+      for (var p : postsets[t]) {
+        for (var q : postsets[t]) {
+          rel[p][q] += 1L << 48;
+        }
+      }
+    }
+    return rel;
+  }
+
+  // colors places by initial tokens and refines by the colors of the places
+  // they are related to, until the number of colors stops growing
+  private int[] refineColors(int[] initialMarking) {
+    var colors = new int[placeCount];
+    var signatures = new HashMap<String, Integer>();
+    for (int p = 0; p < placeCount; ++p) {
+      colors[p] = signatures.computeIfAbsent(initialMarking[p] + ":" + relation[p][p], k -> signatures.size());
+    }
+    var colorCount = signatures.size();
+    while (true) {
+      signatures.clear();
+      var next = new int[placeCount];
+      for (int p = 0; p < placeCount; ++p) {
+        var neighbors = new ArrayList<String>();
+        for (int q = 0; q < placeCount; ++q) {
+          if (q != p && relation[p][q] != 0) {
+            neighbors.add(colors[q] + "/" + relation[p][q]);
+          }
+        }
+        neighbors.sort(null);
+        next[p] = signatures.computeIfAbsent(colors[p] + ":" + neighbors, k -> signatures.size());
+      }
+      colors = next;
+      if (signatures.size() == colorCount) {
+        return colors;
+      }
+      colorCount = signatures.size();
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package de.feu.propra.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Produces the table of the {@code ResultsFormatter} from the stream of
+ * results. The column widths depend on all results, so unlike the other
+ * {@code ResultSink}s it keeps the results and writes the table when the batch
+ * is finished.
+ * 
+ * @author j-hap 
+ *
+ */
+public class TableResultSink implements ResultSink {
+  private final Appendable out;
+  private final List<BoundednessSolverResult> results = new ArrayList<>();
+
+  /**
+   * @param out The output the table is appended to.
+   */
+  public TableResultSink(Appendable out) {
+    this.out = out;
+  }
+
+  @Override
+  public void accept(BoundednessSolverResult result) {
+    results.add(result);
+  }
+
+  @Override
+  public void finish() {
+    new ResultsFormatter(out).format(results);
+    results.clear();
+  }
+}
@@ -107,6 +107,7 @@ public class MainView {
     toolsMenu.add(MainViewAction.RESET_NET.action);
     toolsMenu.add(MainViewAction.DELETE_GRAPH.action);
     toolsMenu.add(MainViewAction.BOUNDS_CHECK.action);
+    toolsMenu.add(MainViewAction.CANCEL.action);
     toolsMenu.addSeparator();
     var prefItem = new JMenuItem(bundle.getString("menu.preferences"));
     prefItem.addActionListener(e -> Settings.showDialog(frame));
@@ -144,6 +145,7 @@ public class MainView {
 
     toolBar.add(MainViewAction.DELETE_GRAPH.action);
     toolBar.add(MainViewAction.BOUNDS_CHECK.action);
+    toolBar.add(MainViewAction.CANCEL.action);
 
     frame.add(toolBar, BorderLayout.PAGE_START);
   }
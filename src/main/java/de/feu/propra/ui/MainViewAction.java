@@ -2,6 +2,7 @@ package de.feu.propra.ui;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.ResourceBundle;
 
@@ -72,12 +73,19 @@ public enum MainViewAction {
   /**
    * Shall be used to run an boundedness check on a possibly unbound model.
    */
-  BOUNDS_CHECK("command.bounds_check", "tooltip.bounds_check", UiIcon.VALIDATION);
+  BOUNDS_CHECK("command.bounds_check", "tooltip.bounds_check", UiIcon.VALIDATION), //
+  /**
+   * Shall be used to cancel a boundedness check that runs in the background.
+   */
+  CANCEL("command.cancel", "tooltip.cancel", UiIcon.DELETE);
 
   /**
    * The underlying {@code Action}.
    */
   public final AbstractAction action;
+  // enabled state of the actions that are disabled while a solver runs
+  private static EnumMap<MainViewAction, Boolean> enabledBeforeSolver = new EnumMap<>(MainViewAction.class);
+  private static boolean isSolverRunning = false;
   private static ActionListener listener = new ActionListener() {
     @Override
     public void actionPerformed(ActionEvent e) {
@@ -120,13 +128,55 @@ public enum MainViewAction {
     return EnumSet.of(DELETE_GRAPH);
   }
 
+  /**
+   * @return A subset of the defined {@code MainViewAction} that modify a
+   *         {@code PetriNet} or start another solver and must not run while a
+   *         solver runs in the background.
+   */
+  private static EnumSet<MainViewAction> solverConflictingActions() {
+    return EnumSet.of(RELOAD_FILE, CLOSE_FILE, BATCH, REMOVE_TOKEN, FREEZE_TOKENS, ADD_TOKEN, DELETE_GRAPH, RESET_NET,
+        BOUNDS_CHECK);
+  }
+
+  /**
+   * Disables the {@code MainViewAction}s that must not run while a solver runs
+   * in the background and enables {@code CANCEL}, or restores the previous
+   * state.
+   * 
+   * @param isRunning True when a solver is started, false when it has finished.
+   */
+  public static void setSolverRunning(boolean isRunning) {
+    isSolverRunning = isRunning;
+    for (var a : solverConflictingActions()) {
+      if (isRunning) {
+        enabledBeforeSolver.put(a, a.action.isEnabled());
+        a.setEnabled(false);
+      } else {
+        a.setEnabled(enabledBeforeSolver.getOrDefault(a, true));
+      }
+    }
+    CANCEL.setEnabled(isRunning);
+  }
+
   private static void setGraphActionsEnabled(boolean state) {
-    MainViewAction.petriNetActions().forEach((MainViewAction a) -> a.setEnabled(state));
-    MainViewAction.reachabilityGraphActions().forEach((MainViewAction a) -> a.setEnabled(state));
+    MainViewAction.petriNetActions().forEach((MainViewAction a) -> a.setEnabledUnlessSolverRuns(state));
+    MainViewAction.reachabilityGraphActions().forEach((MainViewAction a) -> a.setEnabledUnlessSolverRuns(state));
+  }
+
+  // a file may be opened while a solver runs, but the actions that conflict
+  // with the solver only get the new state when it has finished
+  private void setEnabledUnlessSolverRuns(boolean state) {
+    if (isSolverRunning && solverConflictingActions().contains(this)) {
+      enabledBeforeSolver.put(this, state);
+    } else {
+      setEnabled(state);
+    }
   }
 
   /**
    * Disables all {@code MainViewAction}s that operate on a displayed graph.
+   * While a solver runs, the ones that conflict with it are disabled when it
+   * has finished.
    */
   public static void disableGraphActions() {
     setGraphActionsEnabled(false);
@@ -134,6 +184,8 @@ public enum MainViewAction {
 
   /**
    * Enables all {@code MainViewAction}s that operate on a displayed graph.
+   * While a solver runs, the ones that conflict with it are enabled when it has
+   * finished.
    */
   public static void enableGraphActions() {
     setGraphActionsEnabled(true);
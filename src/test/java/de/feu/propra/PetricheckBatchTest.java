@@ -0,0 +1,237 @@
+package de.feu.propra;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PetricheckBatchTest {
+  Path directory;
+  PrintStream out;
+  PrintStream err;
+  Level level;
+  ByteArrayOutputStream output = new ByteArrayOutputStream();
+  ByteArrayOutputStream errors = new ByteArrayOutputStream();
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("batch");
+    out = System.out;
+    err = System.err;
+    level = Logger.getLogger("").getLevel();
+    System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+    System.setErr(new PrintStream(errors, true, StandardCharsets.UTF_8));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    System.setOut(out);
+    System.setErr(err);
+    // --quiet changes the root logger
+    Logger.getLogger("").setLevel(level);
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+    }
+  }
+
+  @Test
+  void printsUsageWithoutFiles() {
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[0]));
+    assertTrue(errors.toString(StandardCharsets.UTF_8).startsWith("Usage"));
+  }
+
+  @Test
+  void rejectsInvalidOptions() throws IOException {
+    var file = bounded("a").toString();
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[] { "--unknown", file }));
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[] { "--threads=many", file }));
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[] { "--storage=paper", file }));
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[] { "--format=xml", file }));
+    assertEquals("", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void rejectsMissingFiles() throws IOException {
+    var missing = directory.resolve("missing.pnml").toString();
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[] { missing }));
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[] { bounded("a").toString(), missing }));
+    assertTrue(errors.toString(StandardCharsets.UTF_8).contains(missing));
+    assertEquals("", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void appliesOptions() throws IOException {
+    var file = bounded("a").toString();
+    assertEquals(PetricheckBatch.EXIT_BOUNDED, PetricheckBatch.run(new String[] { "--quiet", "--format=jsonl",
+        "--storage=hash-compaction", "--threads=2", "--por", "--place-bounds", file }));
+    var lines = output.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+    assertEquals(1, lines.size());
+    assertTrue(lines.get(0).startsWith("{"));
+    assertTrue(lines.get(0).contains("\"p0\""));
+  }
+
+  @Test
+  void exitsWithVerdict() throws IOException {
+    var bounded = bounded("a").toString();
+    var unbounded = unbounded("b").toString();
+    var malformed = malformed("c").toString();
+    assertEquals(PetricheckBatch.EXIT_BOUNDED, PetricheckBatch.run(new String[] { "--quiet", bounded }));
+    assertEquals(PetricheckBatch.EXIT_UNBOUNDED, PetricheckBatch.run(new String[] { "--quiet", bounded, unbounded }));
+    // the large ring does not finish within the budget
+    assertEquals(PetricheckBatch.EXIT_UNKNOWN, PetricheckBatch.run(new String[] { "--quiet", "--state-limit=1000",
+        bounded, unbounded, ring("d", 9, 40).toString() }));
+    assertEquals(PetricheckBatch.EXIT_ERROR,
+        PetricheckBatch.run(new String[] { "--quiet", "--files=2", malformed, unbounded, bounded }));
+  }
+
+  @Test
+  void checksRemainingFilesAfterFailure() throws IOException {
+    var files = new String[] { "--quiet", "--format=csv", malformed("a").toString(), unbounded("b").toString() };
+    assertEquals(PetricheckBatch.EXIT_ERROR, PetricheckBatch.run(files));
+    var rows = output.toString(StandardCharsets.UTF_8).lines().skip(1).collect(Collectors.toList());
+    assertEquals(2, rows.size());
+    assertTrue(rows.get(0).contains("a.pnml,ERROR,,"));
+    assertTrue(rows.get(1).contains("b.pnml,COMPLETE,false,"));
+  }
+
+  @Test
+  void searchesDirectoriesRecursively() throws IOException {
+    bounded("b");
+    bounded("sub/a");
+    bounded("sub/deeper/c");
+    Files.writeString(directory.resolve("sub/notes.txt"), "not a net");
+    assertEquals(PetricheckBatch.EXIT_BOUNDED, PetricheckBatch.run(new String[] { "--quiet", "--format=csv",
+        directory.toString() }));
+    assertEquals(List.of("b.pnml", "sub/a.pnml", "sub/deeper/c.pnml"), checkedFiles());
+  }
+
+  @Test
+  void expandsGlobs() throws IOException {
+    bounded("b");
+    bounded("sub/a");
+    unbounded("sub/c");
+    bounded("sub/deeper/d");
+    assertEquals(PetricheckBatch.EXIT_BOUNDED, PetricheckBatch.run(new String[] { "--quiet", "--format=csv",
+        directory + "/*.pnml", directory + "/sub/*/*.pnml" }));
+    assertEquals(List.of("b.pnml", "sub/deeper/d.pnml"), checkedFiles());
+    output.reset();
+    assertEquals(PetricheckBatch.EXIT_UNBOUNDED, PetricheckBatch.run(new String[] { "--quiet", "--format=csv",
+        directory + "/sub/[ab].pnml", directory + "/**/c.pnml" }));
+    assertEquals(List.of("sub/a.pnml", "sub/c.pnml"), checkedFiles());
+  }
+
+  @Test
+  void matchesNoDirectoryWithDoubleStar() throws IOException {
+    bounded("b");
+    bounded("sub/a");
+    bounded("sub/deeper/d");
+    assertEquals(PetricheckBatch.EXIT_BOUNDED, PetricheckBatch.run(new String[] { "--quiet", "--format=csv",
+        directory + "/**/*.pnml" }));
+    assertEquals(List.of("b.pnml", "sub/a.pnml", "sub/deeper/d.pnml"), checkedFiles());
+    output.reset();
+    assertEquals(PetricheckBatch.EXIT_BOUNDED, PetricheckBatch.run(new String[] { "--quiet", "--format=csv",
+        directory + "/sub/**/*/*.pnml" }));
+    assertEquals(List.of("sub/deeper/d.pnml"), checkedFiles());
+  }
+
+  @Test
+  void rejectsArgumentsWithoutFiles() throws IOException {
+    bounded("b");
+    Files.createDirectories(directory.resolve("empty"));
+    assertEquals(PetricheckBatch.EXIT_USAGE, PetricheckBatch.run(new String[] { directory + "/*.xml" }));
+    assertEquals(PetricheckBatch.EXIT_USAGE,
+        PetricheckBatch.run(new String[] { directory + "/b.pnml", directory.resolve("empty").toString() }));
+    assertTrue(errors.toString(StandardCharsets.UTF_8).contains(directory + "/*.xml"));
+    assertEquals("", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void rejectsGlobWithoutDirectory() {
+    assertEquals(PetricheckBatch.EXIT_USAGE,
+        PetricheckBatch.run(new String[] { directory + "/missing/*.pnml" }));
+  }
+
+  // the files of the CSV output, relative to the directory
+  private List<String> checkedFiles() {
+    return output.toString(StandardCharsets.UTF_8).lines().skip(1)
+        .map(l -> directory.relativize(Path.of(l.substring(0, l.indexOf(',')))).toString().replace('\\', '/'))
+        .collect(Collectors.toList());
+  }
+
+  private Path bounded(String name) throws IOException {
+    return ring(name, 2, 1);
+  }
+
+  // a bounded ring of places, the tokens start on the first place
+  private Path ring(String name, int places, int tokens) throws IOException {
+    var pnml = new StringBuilder("<pnml><net>");
+    for (int i = 0; i < places; ++i) {
+      pnml.append("<place id=\"p").append(i).append("\">");
+      if (i == 0) {
+        pnml.append("<initialMarking><text>").append(tokens).append("</text></initialMarking>");
+      }
+      pnml.append("</place><transition id=\"t").append(i).append("\"/>");
+      pnml.append("<arc id=\"in").append(i).append("\" source=\"p").append(i).append("\" target=\"t").append(i)
+          .append("\"/>");
+      pnml.append("<arc id=\"out").append(i).append("\" source=\"t").append(i).append("\" target=\"p")
+          .append((i + 1) % places).append("\"/>");
+    }
+    return write(name, pnml.append("</net></pnml>").toString());
+  }
+
+  // t puts a token back on p and another one on q
+  private Path unbounded(String name) throws IOException {
+    return write(name, """
+        <pnml><net>
+        <place id="p"><initialMarking><text>1</text></initialMarking></place>
+        <place id="q"/>
+        <transition id="t"/>
+        <arc id="in" source="p" target="t"/>
+        <arc id="back" source="t" target="p"/>
+        <arc id="out" source="t" target="q"/>
+        </net></pnml>
+        """);
+  }
+
+  // the token count is no number, so the parser fails
+  private Path malformed(String name) throws IOException {
+    return write(name, """
+        <pnml><net>
+        <place id="p"><initialMarking><text>many</text></initialMarking></place>
+        </net></pnml>
+        """);
+  }
+
+  private Path write(String name, String pnml) throws IOException {
+    var file = directory.resolve(name + ".pnml");
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, pnml);
+    return file;
+  }
+
+}
@@ -0,0 +1,77 @@
+package de.feu.propra.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.reachability.Marking;
+import de.feu.propra.solver.BoundednessSolver;
+
+class ReachabilityGraphRecorderTest {
+  PetriNet net;
+  ReachabilityGraphRecorder recorder;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // two tokens move around a ring of two places
+    net = new PetriNet();
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addTransition("t1");
+    net.addTransition("t2");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.addArc("a3", "p2", "t2");
+    net.addArc("a4", "t2", "p1");
+    net.setInitialTokens("p1", 2);
+    net.getReachabilityGraph().init();
+    recorder = new ReachabilityGraphRecorder();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void replaysGraphExploredOnCopy() {
+    var copy = new PetriNet(net);
+    copy.getReachabilityGraph().addChangeListener(recorder);
+    new BoundednessSolver(copy).solve();
+    var rGraph = net.getReachabilityGraph();
+    assertEquals(1, rGraph.getNodeCount());
+
+    recorder.replayInto(rGraph);
+    assertEquals(3, rGraph.getNodeCount());
+    assertEquals(4, rGraph.getEdgeCount());
+    assertEquals(new Marking(2, 0), net.getMarking());
+  }
+
+  @Test
+  void dropsEdgesOfInitializedGraph() {
+    var copy = new PetriNet(net);
+    copy.getReachabilityGraph().addChangeListener(recorder);
+    copy.triggerTransition("t1");
+    copy.getReachabilityGraph().init();
+    copy.triggerTransition("t1");
+    copy.triggerTransition("t1");
+
+    var rGraph = net.getReachabilityGraph();
+    recorder.replayInto(rGraph);
+    assertEquals(3, rGraph.getNodeCount());
+    assertEquals(2, rGraph.getEdgeCount());
+  }
+
+}
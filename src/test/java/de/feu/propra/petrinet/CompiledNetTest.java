@@ -0,0 +1,69 @@
+package de.feu.propra.petrinet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompiledNetTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    net = new PetriNet();
+    net.addPlace("p2");
+    net.addPlace("p1");
+    net.addTransition("t1");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.setInitialTokens("p1", 1);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void ordersPlacesLikeMarking() {
+    var compiled = new CompiledNet(net);
+    assertEquals("p1", compiled.getPlaceId(0));
+    assertEquals("p2", compiled.getPlaceId(1));
+    assertArrayEquals(new int[] { 1, 0 }, compiled.getInitialMarking());
+  }
+
+  @Test
+  void firesWithoutTouchingModel() {
+    var compiled = new CompiledNet(net);
+    var m = compiled.getInitialMarking();
+    assertTrue(compiled.isEnabled(m, 0));
+    var next = compiled.fire(m, 0);
+    assertArrayEquals(new int[] { 0, 1 }, next);
+    assertArrayEquals(new int[] { 1, 0 }, m);
+    assertFalse(compiled.isEnabled(next, 0));
+    assertEquals(net.getMarking(), new de.feu.propra.reachability.Marking(1, 0));
+  }
+
+  @Test
+  void throwsOnTokenOverflow() {
+    var compiled = new CompiledNet(net);
+    assertThrows(ArithmeticException.class, () -> {
+      compiled.fire(new int[] { 1, Integer.MAX_VALUE }, 0);
+    });
+  }
+
+}
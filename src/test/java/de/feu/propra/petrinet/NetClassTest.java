@@ -0,0 +1,72 @@
+package de.feu.propra.petrinet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NetClassTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // p1 -> t1 -> p2 -> t2 -> p1
+    net = new PetriNet();
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addTransition("t1");
+    net.addTransition("t2");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.addArc("a3", "p2", "t2");
+    net.addArc("a4", "t2", "p1");
+    net.setInitialTokens("p1", 1);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void classifiesCycleAsStateMachine() {
+    assertEquals(NetClass.STATE_MACHINE, NetClass.of(new CompiledNet(net)));
+  }
+
+  @Test
+  void classifiesForkAndJoinAsMarkedGraph() {
+    net.addPlace("p3");
+    net.addArc("a5", "t1", "p3");
+    net.addArc("a6", "p3", "t2");
+    assertEquals(NetClass.MARKED_GRAPH, NetClass.of(new CompiledNet(net)));
+  }
+
+  @Test
+  void classifiesChoiceAsFreeChoice() {
+    net.addTransition("t3");
+    net.addArc("a5", "p1", "t3");
+    net.addArc("a6", "t3", "p2");
+    net.addArc("a7", "t3", "p1");
+    assertEquals(NetClass.FREE_CHOICE, NetClass.of(new CompiledNet(net)));
+  }
+
+  @Test
+  void classifiesSynchronizedChoiceAsGeneral() {
+    net.addPlace("p3");
+    net.addTransition("t3");
+    net.addArc("a5", "p1", "t3");
+    net.addArc("a6", "p3", "t3");
+    net.addArc("a7", "p3", "t1");
+    assertEquals(NetClass.GENERAL, NetClass.of(new CompiledNet(net)));
+  }
+}
@@ -0,0 +1,81 @@
+package de.feu.propra.petrinet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NetReductionTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // p1 -> t1 -> p2 -> t2 -> p3 -> t3 -> p1
+    net = new PetriNet();
+    for (int i = 1; i <= 3; ++i) {
+      net.addPlace("p" + i);
+    }
+    for (int i = 1; i <= 3; ++i) {
+      net.addTransition("t" + i);
+      net.addArc("in" + i, "p" + i, "t" + i);
+      net.addArc("out" + i, "t" + i, "p" + (i % 3 + 1));
+    }
+    net.setInitialTokens("p1", 1);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void reducesCycleWithoutModifyingOriginal() {
+    // the cycle shrinks to a self loop on a constant place
+    var reduction = new NetReduction(net);
+    assertTrue(reduction.isReduced());
+    var reduced = new CompiledNet(reduction.getReducedNet());
+    assertEquals(0, reduced.getPlaceCount());
+    assertEquals(0, reduced.getTransitionCount());
+    assertEquals(3, new CompiledNet(net).getPlaceCount());
+  }
+
+  @Test
+  void expandsPathToOriginalTransitions() {
+    // t1 also puts a token into p4, so the cycle is not reduced completely
+    net.addPlace("p4");
+    net.addArc("out4", "t1", "p4");
+    var reduction = new NetReduction(net);
+    var reduced = new CompiledNet(reduction.getReducedNet());
+    var path = List.of(reduced.getTransitionId(0), reduced.getTransitionId(0));
+    var expanded = reduction.expandPath(path);
+    assertEquals(6, expanded.size());
+    assertEquals(expanded.subList(0, 3), expanded.subList(3, 6));
+    assertTrue(expanded.containsAll(List.of("t1", "t2", "t3")));
+  }
+
+  @Test
+  void keepsNetWithoutMatchingRule() {
+    var single = new PetriNet();
+    single.addPlace("p1");
+    single.addTransition("t1");
+    single.addArc("a1", "p1", "t1");
+    single.setInitialTokens("p1", 1);
+    var reduction = new NetReduction(single);
+    assertFalse(reduction.isReduced());
+    assertTrue(reduction.getAppliedRules().isEmpty());
+  }
+}
@@ -1,5 +1,6 @@
 package de.feu.propra.petrinet;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -191,4 +192,29 @@ class PetriNetTest {
     assertTrue(mockGraphListener.edgeVisitedWasCalled); // existing edge was visited
     assertTrue(mockGraphListener.activeMarkingChangedWasCalled);
   }
+
+  @Test
+  void copyStartsAtInitialMarkingWithOwnGraph() {
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addTransition("t1");
+    net.setNodeName("t1", "move");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.setInitialTokens("p1", 2);
+    net.getReachabilityGraph().init();
+    net.triggerTransition("t1");
+
+    var copy = new PetriNet(net);
+    assertEquals(new Marking(2, 0), copy.getMarking());
+    assertEquals(2, copy.arcs().size());
+    assertEquals("[t1] move", copy.nodes().stream().filter(PetriNode::isTransition).findAny().get().getLabel());
+    copy.triggerTransition("t1");
+    copy.triggerTransition("t1");
+
+    assertEquals(new Marking(0, 2), copy.getMarking());
+    assertEquals(3, copy.getReachabilityGraph().getNodeCount());
+    assertEquals(new Marking(1, 1), net.getMarking());
+    assertEquals(2, net.getReachabilityGraph().getNodeCount());
+  }
 }
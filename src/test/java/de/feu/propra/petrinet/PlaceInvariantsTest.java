@@ -0,0 +1,87 @@
+package de.feu.propra.petrinet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlaceInvariantsTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // p1 -> t1 -> p2, p3 -> t2 -> p1
+    net = new PetriNet();
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addPlace("p3");
+    net.addTransition("t1");
+    net.addTransition("t2");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.addArc("a3", "t1", "p3");
+    net.addArc("a4", "p2", "t2");
+    net.addArc("a5", "p3", "t2");
+    net.addArc("a6", "t2", "p1");
+    net.setInitialTokens("p1", 1);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void findsMinimalInvariants() {
+    var invariants = new PlaceInvariants(new CompiledNet(net));
+    assertTrue(invariants.isComplete());
+    assertEquals(2, invariants.getInvariants().size());
+    assertArrayEquals(new long[] { 1, 1, 0 }, invariants.getInvariants().get(0));
+    assertArrayEquals(new long[] { 1, 0, 1 }, invariants.getInvariants().get(1));
+    assertTrue(invariants.coversAllPlaces());
+  }
+
+  @Test
+  void weightsPlacesOfSplittingTransition() {
+    // p1 -> t1 -> p2, p3 -> t2 -> p4 -> t3 -> p1
+    var chain = new PetriNet();
+    for (int i = 1; i <= 4; ++i) {
+      chain.addPlace("p" + i);
+    }
+    chain.addTransition("t1");
+    chain.addTransition("t2");
+    chain.addTransition("t3");
+    chain.addArc("a1", "p1", "t1");
+    chain.addArc("a2", "t1", "p2");
+    chain.addArc("a3", "t1", "p3");
+    chain.addArc("a4", "p2", "t2");
+    chain.addArc("a5", "p3", "t2");
+    chain.addArc("a6", "t2", "p4");
+    chain.addArc("a7", "p4", "t3");
+    chain.addArc("a8", "t3", "p1");
+    var invariants = new PlaceInvariants(new CompiledNet(chain));
+    assertEquals(2, invariants.getInvariants().size());
+    assertTrue(invariants.coversAllPlaces());
+  }
+
+  @Test
+  void doesNotCoverGrowingPlace() {
+    net.addArc("a7", "t2", "p2");
+    var invariants = new PlaceInvariants(new CompiledNet(net));
+    assertTrue(invariants.isComplete());
+    assertFalse(invariants.coversAllPlaces());
+  }
+}
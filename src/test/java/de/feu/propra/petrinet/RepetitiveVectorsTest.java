@@ -0,0 +1,60 @@
+package de.feu.propra.petrinet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RepetitiveVectorsTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // p1 -> t1 -> p2 -> t2 -> p1
+    net = new PetriNet();
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addTransition("t1");
+    net.addTransition("t2");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.addArc("a3", "p2", "t2");
+    net.addArc("a4", "t2", "p1");
+    net.setInitialTokens("p1", 1);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void findsNoVectorInConservativeNet() {
+    var vectors = new RepetitiveVectors(new CompiledNet(net));
+    assertTrue(vectors.isComplete());
+    assertTrue(vectors.getVectors().isEmpty());
+  }
+
+  @Test
+  void findsCycleThatProducesSurplus() {
+    // t2 returns its token to p2 as well, so t2 alone adds a token to p1 and
+    // t1 t2 add a token to p2
+    net.addArc("a5", "t2", "p2");
+    var vectors = new RepetitiveVectors(new CompiledNet(net));
+    assertEquals(2, vectors.getVectors().size());
+    assertArrayEquals(new int[] { 0, 1 }, vectors.getVectors().get(0));
+    assertArrayEquals(new int[] { 1, 1 }, vectors.getVectors().get(1));
+  }
+}
@@ -0,0 +1,59 @@
+package de.feu.propra.petrinet.reachability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.reachability.BitstateSet;
+
+class BitstateSetTest {
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void recognizesVisitedMarkings() {
+    var set = new BitstateSet(1 << 20, 3);
+    assertTrue(set.visit(new int[] { 1, 2, 3 }));
+    assertTrue(set.visit(new int[] { 3, 2, 1 }));
+    assertFalse(set.visit(new int[] { 1, 2, 3 }));
+    assertEquals(2, set.count());
+    assertFalse(set.isExact());
+    set.clear();
+    assertTrue(set.visit(new int[] { 1, 2, 3 }));
+    assertEquals(1, set.count());
+  }
+
+  @Test
+  void expectsMoreOmissionsForFullerArrays() {
+    var sparse = new BitstateSet(1 << 20, 3);
+    var dense = new BitstateSet(1 << 12, 3);
+    for (int i = 0; i < 2000; ++i) {
+      sparse.visit(new int[] { i, i % 7 });
+      dense.visit(new int[] { i, i % 7 });
+    }
+    assertTrue(sparse.expectedOmissions() < 1);
+    assertTrue(dense.expectedOmissions() > sparse.expectedOmissions());
+    assertTrue(dense.count() < 2000);
+  }
+
+}
@@ -0,0 +1,76 @@
+package de.feu.propra.petrinet.reachability;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.reachability.CoverabilityGraph;
+import de.feu.propra.reachability.Marking;
+
+class CoverabilityGraphTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // p1 -> t1 -> p2 -> t2 -> p1
+    net = new PetriNet();
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addTransition("t1");
+    net.addTransition("t2");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.addArc("a3", "p2", "t2");
+    net.addArc("a4", "t2", "p1");
+    net.setInitialTokens("p1", 2);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void equalsReachabilityGraphOfBoundedNet() {
+    var graph = new CoverabilityGraph(new CompiledNet(net));
+    assertTrue(graph.isBounded());
+    assertEquals(3, graph.getNodeCount());
+    assertEquals(4, graph.getEdgeCount());
+    assertArrayEquals(new int[] { 2, 2 }, graph.getBounds());
+  }
+
+  @Test
+  void reportsGrowingPlaceAsOmega() {
+    // t3 moves the tokens from p2 back to p1 and adds one to p3
+    net.addPlace("p3");
+    net.addTransition("t3");
+    net.addArc("a5", "p2", "t3");
+    net.addArc("a6", "t3", "p1");
+    net.addArc("a7", "t3", "p3");
+    var graph = new CoverabilityGraph(new CompiledNet(net));
+    assertFalse(graph.isBounded());
+    assertArrayEquals(new int[] { 2, 2, Marking.OMEGA }, graph.getBounds());
+  }
+
+  @Test
+  void printsOmegaTokenCount() {
+    assertEquals("(1|\u03c9)", new Marking(1, Marking.OMEGA).toString());
+  }
+
+}
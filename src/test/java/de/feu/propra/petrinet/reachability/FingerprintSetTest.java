@@ -0,0 +1,50 @@
+package de.feu.propra.petrinet.reachability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.reachability.FingerprintSet;
+
+class FingerprintSetTest {
+  FingerprintSet set;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    set = new FingerprintSet();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void recognizesVisitedMarkingsWhenGrowing() {
+    for (int i = 0; i < 100_000; ++i) {
+      assertTrue(set.visit(new int[] { i, -i, i % 7 }));
+    }
+    for (int i = 0; i < 100_000; ++i) {
+      assertFalse(set.visit(new int[] { i, -i, i % 7 }));
+    }
+    assertEquals(100_000, set.count());
+    assertTrue(set.expectedOmissions() < 1e-9);
+    set.clear();
+    assertTrue(set.visit(new int[] { 0, 0, 0 }));
+    assertEquals(1, set.count());
+  }
+
+}
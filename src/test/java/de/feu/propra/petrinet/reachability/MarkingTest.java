@@ -1,6 +1,7 @@
 package de.feu.propra.petrinet.reachability;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterAll;
@@ -61,4 +62,22 @@ class MarkingTest {
     assertTrue(new Marking(1).hashCode() == new Marking(1).hashCode());
   }
 
+  @Test
+  void isNotAffectedByChangesOfSourceArray() {
+    var tokens = new int[] { 1, 2 };
+    var m = new Marking(tokens);
+    tokens[0] = 3;
+    assertEquals("(1|2)", m.toString());
+    m.toArray()[1] = 3;
+    assertEquals("(1|2)", m.toString());
+  }
+
+  @Test
+  void wrappedArrayEqualsCopiedArray() {
+    var m = Marking.wrap(new int[] { 1, 2 });
+    assertTrue(m.equals(new Marking(1, 2)));
+    assertTrue(m.hashCode() == new Marking(1, 2).hashCode());
+    assertFalse(m.equals(new Marking(2, 1)));
+  }
+
 }
@@ -0,0 +1,95 @@
+package de.feu.propra.petrinet.reachability;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.reachability.CoverIndex;
+import de.feu.propra.reachability.Marking;
+import de.feu.propra.reachability.MinimalCoverabilitySet;
+
+class MinimalCoverabilitySetTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // p1 -> t1 -> p2 -> t2 -> p1
+    net = new PetriNet();
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addTransition("t1");
+    net.addTransition("t2");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.addArc("a3", "p2", "t2");
+    net.addArc("a4", "t2", "p1");
+    net.setInitialTokens("p1", 2);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void keepsAllMarkingsOfAnAntichain() {
+    var set = new MinimalCoverabilitySet(new CompiledNet(net));
+    assertTrue(set.isBounded());
+    assertEquals(3, set.size());
+    assertArrayEquals(new int[] { 2, 2 }, set.getBounds());
+  }
+
+  @Test
+  void stopsWhenAskedTo() {
+    var compiledNet = new CompiledNet(net);
+    assertThrows(CancellationException.class, () -> new MinimalCoverabilitySet(compiledNet, () -> true));
+  }
+
+  @Test
+  void keepsOnlyMaximalMarkings() {
+    // t3 moves the tokens from p2 back to p1 and adds one to p3
+    net.addPlace("p3");
+    net.addTransition("t3");
+    net.addArc("a5", "p2", "t3");
+    net.addArc("a6", "t3", "p1");
+    net.addArc("a7", "t3", "p3");
+    var set = new MinimalCoverabilitySet(new CompiledNet(net));
+    assertFalse(set.isBounded());
+    assertArrayEquals(new int[] { 2, 2, Marking.OMEGA }, set.getBounds());
+    assertEquals(3, set.size());
+    assertTrue(set.getMarkings().contains(new Marking(2, 0, Marking.OMEGA)));
+  }
+
+  @Test
+  void indexFindsCoveringAndCoveredMarkings() {
+    var index = new CoverIndex(2);
+    index.add(new int[] { 1, 3 }, 0);
+    index.add(new int[] { 3, 1 }, 1);
+    assertTrue(index.isCovered(new int[] { 1, 2 }));
+    assertFalse(index.isCovered(new int[] { 2, 2 }));
+    assertEquals(List.of(0), index.removeCovered(new int[] { 2, 3 }));
+    assertEquals(1, index.size());
+    assertFalse(index.isCovered(new int[] { 1, 2 }));
+  }
+
+}
@@ -0,0 +1,55 @@
+package de.feu.propra.petrinet.reachability;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.reachability.OffHeapStateStore;
+
+class OffHeapStateStoreTest {
+  OffHeapStateStore store;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    store = new OffHeapStateStore(3);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void assignsIndicesInOrderOfInsertion() {
+    assertEquals(0, store.add(new int[] { 1, 2, 3 }));
+    assertEquals(1, store.add(new int[] { 3, 2, 1 }));
+    assertEquals(0, store.add(new int[] { 1, 2, 3 }));
+    assertEquals(2, store.size());
+    assertArrayEquals(new int[] { 3, 2, 1 }, store.get(1));
+  }
+
+  @Test
+  void keepsAllMarkingsWhenGrowing() {
+    for (int i = 0; i < 100_000; ++i) {
+      assertEquals(i, store.add(new int[] { i, -i, i % 7 }));
+    }
+    for (int i = 0; i < 100_000; ++i) {
+      assertEquals(i, store.add(new int[] { i, -i, i % 7 }));
+      assertArrayEquals(new int[] { i, -i, i % 7 }, store.get(i));
+    }
+    assertEquals(100_000, store.size());
+  }
+
+}
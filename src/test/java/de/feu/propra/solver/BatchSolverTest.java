@@ -0,0 +1,176 @@
+package de.feu.propra.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchSolverTest {
+  Path directory;
+  Logger logger = Logger.getLogger(BatchSolver.class.getName());
+  List<String> messages = new ArrayList<>();
+  Handler handler = new Handler() {
+    @Override
+    public synchronized void publish(LogRecord record) {
+      messages.add(record.getMessage());
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  };
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("batch");
+    logger.addHandler(handler);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    logger.removeHandler(handler);
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+    }
+  }
+
+  @Test
+  void keepsOrderOfFilesCheckedAtTheSameTime() throws IOException {
+    // the large nets take longer, so later files finish first
+    var files = new File[] { ring("a", 6, 12), unbounded("b"), ring("c", 2, 1), ring("d", 5, 10), unbounded("e"),
+        ring("f", 3, 2) };
+    var solver = new BatchSolver(files);
+    solver.setFileParallelism(3);
+    solver.solve();
+    var results = solver.getResults();
+    assertEquals(files.length, results.size());
+    for (int i = 0; i < files.length; ++i) {
+      assertEquals(files[i], results.get(i).file);
+      assertEquals(SolverStatus.COMPLETE, results.get(i).status);
+    }
+    assertTrue(results.get(0).isBounded);
+    assertFalse(results.get(1).isBounded);
+    assertTrue(results.get(2).isBounded);
+    assertEquals(2, results.get(2).nodeCount);
+  }
+
+  @Test
+  void logsEachFileInOneBlock() throws IOException {
+    var files = new File[] { ring("a", 6, 12), ring("b", 2, 1), unbounded("c"), ring("d", 4, 6) };
+    var solver = new BatchSolver(files);
+    solver.setFileParallelism(4);
+    solver.solve();
+    var results = solver.getResults();
+    // the check announcement of a file is followed by its result
+    assertEquals(2 * files.length, messages.size());
+    for (int i = 0; i < files.length; ++i) {
+      assertTrue(messages.get(2 * i).endsWith(files[i].getName()));
+      assertEquals(results.get(i).toString(), messages.get(2 * i + 1));
+    }
+  }
+
+  @Test
+  void cancelledBatchSkipsRemainingFiles() throws IOException {
+    // the large rings do not finish in time without the cancellation
+    var files = new File[] { ring("a", 2, 1), ring("b", 9, 40), ring("c", 9, 40), ring("d", 9, 40), ring("e", 2, 1) };
+    var solver = new BatchSolver(files);
+    solver.setFileParallelism(2);
+    solver.addResultSink(r -> solver.cancel());
+    solver.solve();
+    var results = solver.getResults();
+    assertEquals(SolverStatus.COMPLETE, results.get(0).status);
+    assertTrue(results.size() < files.length);
+    for (var r : results.subList(1, results.size())) {
+      assertNotEquals(SolverStatus.COMPLETE, r.status);
+    }
+  }
+
+  @Test
+  void cancelledBatchChecksNoFile() throws IOException {
+    var solver = new BatchSolver(new File[] { ring("a", 2, 1), ring("b", 2, 1) });
+    solver.setFileParallelism(2);
+    solver.cancel();
+    solver.solve();
+    assertTrue(solver.getResults().isEmpty());
+  }
+
+  @Test
+  void reportsMissingFileAsError() throws IOException {
+    var files = new File[] { directory.resolve("missing.pnml").toFile(), ring("a", 2, 1) };
+    var solver = new BatchSolver(files);
+    solver.solve();
+    var results = solver.getResults();
+    assertEquals(SolverStatus.ERROR, results.get(0).status);
+    assertNull(results.get(0).isBounded);
+    assertEquals(SolverStatus.COMPLETE, results.get(1).status);
+  }
+
+  // a bounded ring of places, the tokens start on the first place
+  private File ring(String name, int places, int tokens) throws IOException {
+    var pnml = new StringBuilder("<pnml><net>");
+    for (int i = 0; i < places; ++i) {
+      pnml.append("<place id=\"p").append(i).append("\">");
+      if (i == 0) {
+        pnml.append("<initialMarking><text>").append(tokens).append("</text></initialMarking>");
+      }
+      pnml.append("</place><transition id=\"t").append(i).append("\"/>");
+      pnml.append("<arc id=\"in").append(i).append("\" source=\"p").append(i).append("\" target=\"t").append(i)
+          .append("\"/>");
+      pnml.append("<arc id=\"out").append(i).append("\" source=\"t").append(i).append("\" target=\"p")
+          .append((i + 1) % places).append("\"/>");
+    }
+    return write(name, pnml.append("</net></pnml>").toString());
+  }
+
+  // t puts a token back on p and another one on q
+  private File unbounded(String name) throws IOException {
+    return write(name, """
+        <pnml><net>
+        <place id="p"><initialMarking><text>1</text></initialMarking></place>
+        <place id="q"/>
+        <transition id="t"/>
+        <arc id="in" source="p" target="t"/>
+        <arc id="back" source="t" target="p"/>
+        <arc id="out" source="t" target="q"/>
+        </net></pnml>
+        """);
+  }
+
+  private File write(String name, String pnml) throws IOException {
+    var file = directory.resolve(name + ".pnml");
+    Files.writeString(file, pnml);
+    return file.toFile();
+  }
+
+}
@@ -0,0 +1,525 @@
+package de.feu.propra.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.petrinet.CompiledNet;
+import de.feu.propra.petrinet.NetClass;
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.reachability.HeapStateStore;
+import de.feu.propra.reachability.Marking;
+
+class BoundednessSolverTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // p1 -> t1 -> p2 -> t2 -> p1
+    net = new PetriNet();
+    net.addPlace("p1");
+    net.addPlace("p2");
+    net.addTransition("t1");
+    net.addTransition("t2");
+    net.addArc("a1", "p1", "t1");
+    net.addArc("a2", "t1", "p2");
+    net.addArc("a3", "p2", "t2");
+    net.addArc("a4", "t2", "p1");
+    net.setInitialTokens("p1", 1);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void detectsBoundedCycle() {
+    var result = new BoundednessSolver(net).solve();
+    assertTrue(result.isBounded);
+    assertEquals(2, result.nodeCount);
+    assertEquals(2, result.edgeCount);
+  }
+
+  @Test
+  void detectsUnboundedNet() {
+    net.addArc("a5", "t2", "p2");
+    var result = new BoundednessSolver(net).solve();
+    assertFalse(result.isBounded);
+    assertEquals(List.of("t1", "t2"), result.problemPath);
+    assertEquals(new Marking(0, 1), result.problemMarkings.get(0));
+    assertEquals(new Marking(1, 1), result.problemMarkings.get(1));
+  }
+
+  @Test
+  void reportsNearestPredecessorOffThePath() {
+    // t3 leads to (0|1|1) which covers (0|1|0), a predecessor through t1 and t2
+    net.addPlace("p3");
+    net.addTransition("t3");
+    net.addArc("a6", "p1", "t3");
+    net.addArc("a7", "t3", "p2");
+    net.addArc("a8", "t3", "p3");
+    var result = new BoundednessSolver(net).solve();
+    assertFalse(result.isBounded);
+    assertEquals(List.of("t3"), result.problemPath);
+    assertEquals(new Marking(0, 1, 0), result.problemMarkings.get(0));
+    assertEquals(new Marking(0, 1, 1), result.problemMarkings.get(1));
+    assertFalse(net.isBounded());
+  }
+
+  @Test
+  void reportsPlaceBoundsOnRequest() {
+    // t3 moves the token from p2 back to p1 and adds one to p3
+    net.addPlace("p3");
+    net.addTransition("t3");
+    net.addArc("a5", "p2", "t3");
+    net.addArc("a6", "t3", "p1");
+    net.addArc("a7", "t3", "p3");
+    var solver = new BoundednessSolver(net);
+    solver.setPlaceBoundAnalysis(true);
+    var result = solver.solve();
+    assertFalse(result.isBounded);
+    assertEquals(Map.of("p1", 1, "p2", 1, "p3", Marking.OMEGA), result.placeBounds);
+  }
+
+  @Test
+  void reductionSkipsInterleavingsOfParallelBranches() {
+    var branches = branches(3, 3);
+    var solver = new BoundednessSolver(branches);
+    solver.setPartialOrderReduction(true);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(7, result.nodeCount);
+    assertEquals(27, new BoundednessSolver(branches).solve().nodeCount);
+  }
+
+  @Test
+  void reductionDetectsUnboundedNet() {
+    net.addArc("a5", "t2", "p2");
+    var solver = new BoundednessSolver(net);
+    solver.setPartialOrderReduction(true);
+    assertFalse(solver.solve().isBounded);
+  }
+
+  @Test
+  void symmetryReductionExploresOneMarkingPerOrbit() {
+    // three identical workers idle -> start -> busy -> stop -> idle
+    var pool = new PetriNet();
+    for (int i = 0; i < 3; ++i) {
+      pool.addPlace("idle" + i);
+      pool.addPlace("busy" + i);
+      pool.addTransition("start" + i);
+      pool.addTransition("stop" + i);
+      pool.addArc("a" + i, "idle" + i, "start" + i);
+      pool.addArc("b" + i, "start" + i, "busy" + i);
+      pool.addArc("c" + i, "busy" + i, "stop" + i);
+      pool.addArc("d" + i, "stop" + i, "idle" + i);
+      pool.setInitialTokens("idle" + i, 1);
+    }
+    assertEquals(6, new Symmetries(new CompiledNet(pool)).size());
+    var solver = new BoundednessSolver(pool);
+    solver.setSymmetryReduction(true);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(4, result.nodeCount);
+    assertEquals(8, new BoundednessSolver(pool).solve().nodeCount);
+  }
+
+  @Test
+  void recordsExploredGraph() {
+    new BoundednessSolver(net).solve();
+    assertEquals(2, net.getReachabilityGraph().getNodeCount());
+    assertEquals(2, net.getReachabilityGraph().getEdgeCount());
+  }
+
+  @Test
+  void structuralCheckDecidesWithoutExploration() {
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setStructuralCheck(true);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(AnalysisMethod.PLACE_INVARIANT, result.method);
+    assertEquals(0, result.nodeCount);
+    net.addArc("a5", "t2", "p2");
+    solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setStructuralCheck(true);
+    result = solver.solve();
+    assertFalse(result.isBounded);
+    assertEquals(AnalysisMethod.REPETITIVE_VECTOR, result.method);
+    assertEquals(List.of("t1", "t2"), result.problemPath);
+    assertEquals(List.of(new Marking(1, 0), new Marking(1, 1)), result.problemMarkings);
+  }
+
+  @Test
+  void netClassAnalysisDecidesMarkedGraph() {
+    // t1 also fills p3, which is on no circuit
+    net.addPlace("p3");
+    net.addTransition("t3");
+    net.addArc("a5", "t1", "p3");
+    net.addArc("a6", "p3", "t3");
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setNetClassAnalysis(true);
+    var result = solver.solve();
+    assertFalse(result.isBounded);
+    assertEquals(NetClass.MARKED_GRAPH, result.netClass);
+    assertEquals(AnalysisMethod.NET_CLASS, result.method);
+    assertEquals(List.of("t1", "t2"), result.problemPath);
+    // t3 -> p4 -> t2 closes a circuit through p3
+    net.addPlace("p4");
+    net.addArc("a7", "t3", "p4");
+    net.addArc("a8", "p4", "t2");
+    solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setNetClassAnalysis(true);
+    result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(AnalysisMethod.NET_CLASS, result.method);
+  }
+
+  @Test
+  void bitstateStorageMarksBoundedVerdictAsProbable() {
+    var solver = new BoundednessSolver(net);
+    solver.setStorageMode(StorageMode.BITSTATE);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertTrue(result.isProbabilistic);
+    assertEquals(2, result.nodeCount);
+    assertEquals(1, result.coverage, 1e-6);
+
+    net.addArc("a5", "t2", "p2");
+    solver = new BoundednessSolver(net);
+    solver.setStorageMode(StorageMode.BITSTATE);
+    result = solver.solve();
+    assertFalse(result.isBounded);
+    assertFalse(result.isProbabilistic);
+    assertEquals(List.of("t1", "t2"), result.problemPath);
+  }
+
+  @Test
+  void bitstateMemorySizesBitArray() {
+    var solver = new BoundednessSolver(chain(2000));
+    solver.setGraphRecording(false);
+    solver.setStorageMode(StorageMode.BITSTATE);
+    solver.setBitstateMemory(8);
+    var result = solver.solve();
+    // 64 bits fill up long before the end of the chain
+    assertTrue(result.nodeCount < 100);
+    assertTrue(result.coverage < 1);
+
+    solver = new BoundednessSolver(chain(2000));
+    solver.setGraphRecording(false);
+    solver.setStorageMode(StorageMode.BITSTATE);
+    result = solver.solve();
+    assertEquals(2001, result.nodeCount);
+  }
+
+  @Test
+  void reducedNetKeepsBitstateMemory() {
+    var solver = new BoundednessSolver(reducibleChoice(2000));
+    solver.setGraphRecording(false);
+    solver.setNetReduction(true);
+    solver.setStorageMode(StorageMode.BITSTATE);
+    solver.setBitstateMemory(8);
+    var result = solver.solve();
+    assertFalse(result.reductions.isEmpty());
+    assertTrue(result.nodeCount < 100);
+    assertTrue(result.coverage < 1);
+  }
+
+  @Test
+  void hashCompactionReportsOmissionProbability() {
+    var solver = new BoundednessSolver(net);
+    solver.setStorageMode(StorageMode.HASH_COMPACTION);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertTrue(result.isProbabilistic);
+    assertEquals(2, result.nodeCount);
+    assertTrue(result.omissionProbability > 0);
+    assertTrue(result.omissionProbability < 1e-18);
+  }
+
+  @Test
+  void externalSearchSpillsRunsAndFindsSameGraph() {
+    var branches = branches(3, 3);
+    var explorer = new ExternalStateSpaceExplorer(new CompiledNet(branches), null, 4);
+    assertTrue(explorer.explore());
+    assertEquals(27, explorer.getNodeCount());
+    assertEquals(54, explorer.getEdgeCount());
+  }
+
+  @Test
+  void externalSearchHandlesDeepChains() {
+    // one marking per layer, no marking can cover an ancestor, so no earlier
+    // layer needs to be read
+    var solver = new BoundednessSolver(chain(4000));
+    solver.setGraphRecording(false);
+    solver.setStorageMode(StorageMode.EXTERNAL);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(4001, result.nodeCount);
+    assertEquals(4000, result.edgeCount);
+  }
+
+  @Test
+  void externalSearchDetectsUnboundedNet() {
+    net.addArc("a5", "t2", "p2");
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setStorageMode(StorageMode.EXTERNAL);
+    var result = solver.solve();
+    assertFalse(result.isBounded);
+    assertEquals(List.of("t1", "t2"), result.problemPath);
+    assertEquals(new Marking(0, 1), result.problemMarkings.get(0));
+    assertEquals(new Marking(1, 1), result.problemMarkings.get(1));
+  }
+
+  @Test
+  void exploresLongFiringSequencesWithoutRecursion() {
+    var solver = new BoundednessSolver(chain(200_000));
+    solver.setGraphRecording(false);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(200_001, result.nodeCount);
+    assertEquals(200_000, result.edgeCount);
+  }
+
+  @Test
+  void pausedSearchContinuesWhereItStopped() {
+    net.addArc("a5", "t2", "p2");
+    var explorer = new StateSpaceExplorer[1];
+    // pauses once, while the initial marking is added
+    var store = new HeapStateStore() {
+      private boolean hasPaused;
+
+      @Override
+      public int add(int[] marking) {
+        if (!hasPaused) {
+          hasPaused = true;
+          explorer[0].pause();
+        }
+        return super.add(marking);
+      }
+    };
+    explorer[0] = new StateSpaceExplorer(new CompiledNet(net), store);
+    explorer[0].explore();
+    assertTrue(explorer[0].isPaused());
+    assertTrue(explorer[0].isStopped());
+    assertEquals(1, explorer[0].getNodeCount());
+    assertFalse(explorer[0].explore());
+    assertFalse(explorer[0].isPaused());
+    assertEquals(List.of("t1", "t2"), explorer[0].getProblemPath());
+  }
+
+  @Test
+  void latePauseDoesNotStopNextSearch() {
+    var explorer = new StateSpaceExplorer(new CompiledNet(net), new HeapStateStore());
+    assertTrue(explorer.explore());
+    explorer.pause();
+    assertTrue(explorer.explore());
+    assertFalse(explorer.isStopped());
+    assertEquals(2, explorer.getNodeCount());
+
+    explorer.cancel();
+    explorer.explore();
+    assertTrue(explorer.isStopped());
+  }
+
+  @Test
+  void cancelledCheckReportsPartialStatistics() throws InterruptedException {
+    var solver = new BoundednessSolver(largeChain());
+    solver.setGraphRecording(false);
+    solver.setStorageMode(StorageMode.HASH_COMPACTION);
+    var result = new BoundednessSolverResult[1];
+    var thread = new Thread(() -> result[0] = solver.solve());
+    thread.start();
+    while (solver.getProgress().nodeCount < 1000) {
+      Thread.sleep(1);
+    }
+    solver.cancel();
+    thread.join();
+    assertEquals(SolverStatus.CANCELLED, result[0].status);
+    assertNull(result[0].isBounded);
+    assertTrue(result[0].nodeCount >= 1000);
+    assertFalse(result[0].hasProof());
+  }
+
+  @Test
+  void timeLimitStopsExploration() {
+    var solver = new BoundednessSolver(largeChain());
+    solver.setGraphRecording(false);
+    solver.setStorageMode(StorageMode.HASH_COMPACTION);
+    solver.setTimeLimit(100);
+    var result = solver.solve();
+    assertEquals(SolverStatus.TIME_LIMIT, result.status);
+    assertTrue(result.nodeCount > 0);
+  }
+
+  @Test
+  void stateLimitStopsExploration() {
+    var solver = new BoundednessSolver(largeChain());
+    solver.setGraphRecording(false);
+    solver.setStorageMode(StorageMode.HASH_COMPACTION);
+    solver.setStateLimit(10_000);
+    var result = solver.solve();
+    assertEquals(SolverStatus.STATE_LIMIT, result.status);
+    assertTrue(result.nodeCount >= 10_000);
+    assertNull(result.isBounded);
+  }
+
+  @Test
+  void stateLimitStopsSearchOfReducedNet() {
+    var solver = new BoundednessSolver(reducibleChoice(100_000));
+    solver.setGraphRecording(false);
+    solver.setNetReduction(true);
+    solver.setStorageMode(StorageMode.HASH_COMPACTION);
+    solver.setStateLimit(10_000);
+    var result = solver.solve();
+    assertFalse(result.reductions.isEmpty());
+    assertEquals(SolverStatus.STATE_LIMIT, result.status);
+    assertTrue(result.nodeCount >= 10_000);
+    assertNull(result.isBounded);
+  }
+
+  @Test
+  void leavesGraphEmptyWithoutRecording() {
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.solve();
+    assertEquals(1, net.getReachabilityGraph().getNodeCount());
+  }
+
+  @Test
+  void parallelSearchFindsSameBoundedGraph() {
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setParallelism(4);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(2, result.nodeCount);
+    assertEquals(2, result.edgeCount);
+  }
+
+  @Test
+  void parallelSearchDetectsUnboundedNet() {
+    net.addArc("a5", "t2", "p2");
+    var solver = new BoundednessSolver(net);
+    solver.setGraphRecording(false);
+    solver.setParallelism(4);
+    var result = solver.solve();
+    assertFalse(result.isBounded);
+    assertEquals(List.of("t1", "t2"), result.problemPath);
+  }
+
+  @Test
+  void parallelSearchMatchesSequentialOnWideStateSpace() {
+    // 5^6 markings, enough to split the work among the threads
+    var sequential = new BoundednessSolver(branches(6, 5));
+    sequential.setGraphRecording(false);
+    var expected = sequential.solve();
+    var solver = new BoundednessSolver(branches(6, 5));
+    solver.setGraphRecording(false);
+    solver.setParallelism(4);
+    var result = solver.solve();
+    assertTrue(result.isBounded);
+    assertEquals(15_625, expected.nodeCount);
+    assertEquals(expected.nodeCount, result.nodeCount);
+    assertEquals(expected.edgeCount, result.edgeCount);
+  }
+
+  @Test
+  void parallelSearchDetectsUnboundedWideNet() {
+    var sequential = new BoundednessSolver(unboundedBranches());
+    sequential.setGraphRecording(false);
+    var expected = sequential.solve();
+    var solver = new BoundednessSolver(unboundedBranches());
+    solver.setGraphRecording(false);
+    solver.setParallelism(4);
+    var result = solver.solve();
+    assertFalse(expected.isBounded);
+    assertEquals(expected.isBounded, result.isBounded);
+    assertEquals(2, result.problemMarkings.size());
+    assertTrue(result.problemMarkings.get(1).compareTo(result.problemMarkings.get(0)) > 0);
+  }
+
+  // each firing of t moves one of so many tokens from a to b that the
+  // exploration does not finish during a test
+  private static PetriNet largeChain() {
+    return chain(100_000_000);
+  }
+
+  // moves the tokens from a to b one by one, tokens + 1 markings in a row
+  private static PetriNet chain(int tokens) {
+    var chain = new PetriNet();
+    chain.addPlace("a");
+    chain.addPlace("b");
+    chain.addTransition("t");
+    chain.addArc("in", "a", "t");
+    chain.addArc("out", "t", "b");
+    chain.setInitialTokens("a", tokens);
+    return chain;
+  }
+
+  // moves the tokens from a to either b or c, (tokens + 1)(tokens + 2) / 2
+  // markings, the net reduction removes t3, which does the same as t1
+  private static PetriNet reducibleChoice(int tokens) {
+    var choice = new PetriNet();
+    choice.addPlace("a");
+    choice.addPlace("b");
+    choice.addPlace("c");
+    for (var t : List.of("t1", "t2", "t3")) {
+      choice.addTransition(t);
+      choice.addArc("in" + t, "a", t);
+    }
+    choice.addArc("out1", "t1", "b");
+    choice.addArc("out2", "t2", "c");
+    choice.addArc("out3", "t3", "b");
+    choice.setInitialTokens("a", tokens);
+    return choice;
+  }
+
+  // u0_0 keeps the token on b0_0, so b0_1 grows without bound
+  private static PetriNet unboundedBranches() {
+    var branches = branches(6, 5);
+    branches.addArc("loop", "u0_0", "b0_0");
+    return branches;
+  }
+
+  // independent branches bi0 -> ui0 -> bi1 -> ... -> bi(length - 1) with one
+  // token each, length^count markings
+  private static PetriNet branches(int count, int length) {
+    var branches = new PetriNet();
+    for (int i = 0; i < count; ++i) {
+      for (int j = 0; j < length; ++j) {
+        branches.addPlace("b" + i + "_" + j);
+      }
+      for (int j = 0; j < length - 1; ++j) {
+        branches.addTransition("u" + i + "_" + j);
+        branches.addArc("in" + i + "_" + j, "b" + i + "_" + j, "u" + i + "_" + j);
+        branches.addArc("out" + i + "_" + j, "u" + i + "_" + j, "b" + i + "_" + (j + 1));
+      }
+      branches.setInitialTokens("b" + i + "_0", 1);
+    }
+    return branches;
+  }
+
+}
@@ -0,0 +1,156 @@
+package de.feu.propra.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.petrinet.PetriNet;
+import de.feu.propra.reachability.Marking;
+
+class ResultCacheTest {
+  Path directory;
+  Path file;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("cache");
+    file = Files.createTempFile("net", ".pnml");
+    Files.writeString(file, "<pnml/>");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+    }
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  void readsStoredUnboundedResult() throws IOException {
+    // t adds a token to q on every firing, the graph recording links the
+    // markings
+    var net = new PetriNet();
+    net.addPlace("p");
+    net.addPlace("q");
+    net.addTransition("t");
+    net.addArc("in", "p", "t");
+    net.addArc("back", "t", "p");
+    net.addArc("out", "t", "q");
+    net.setInitialTokens("p", 1);
+    var result = new BoundednessSolver(net).solve();
+    var cache = new ResultCache(directory, 1 << 20);
+    var key = cache.keyOf(file.toFile(), "settings");
+    assertNull(cache.get(key));
+    cache.put(key, result);
+    var cached = cache.get(key);
+    assertFalse(cached.isBounded);
+    assertEquals(result.problemPath, cached.problemPath);
+    assertEquals(result.problemMarkings, cached.problemMarkings);
+    assertEquals(result.nodeCount, cached.nodeCount);
+    assertNull(cached.file);
+  }
+
+  @Test
+  void keyChangesWithContentAndSettings() throws IOException {
+    var cache = new ResultCache(directory, 1 << 20);
+    var key = cache.keyOf(file.toFile(), "settings");
+    assertEquals(key, cache.keyOf(file.toFile(), "settings"));
+    assertNotEquals(key, cache.keyOf(file.toFile(), "other settings"));
+    Files.writeString(file, "<pnml></pnml>");
+    assertNotEquals(key, cache.keyOf(file.toFile(), "settings"));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedEntries() throws Exception {
+    var result = new BoundednessSolverResult();
+    var probe = new ResultCache(directory, Long.MAX_VALUE);
+    probe.put("00", result);
+    long entrySize = directorySize();
+    // room for five and a half entries, the sixth evicts down to four
+    var cache = new ResultCache(directory, entrySize * 11 / 2);
+    for (int i = 1; i < 5; ++i) {
+      cache.put("0" + i, result);
+      Thread.sleep(5);
+    }
+    assertNotNull(cache.get("00"));
+    Thread.sleep(5);
+    cache.put("05", result);
+    assertNotNull(cache.get("00"));
+    assertNull(cache.get("01"));
+    assertNull(cache.get("02"));
+    assertNotNull(cache.get("05"));
+  }
+
+  @Test
+  void countsReplacedEntryOnce() throws Exception {
+    var result = new BoundednessSolverResult();
+    var probe = new ResultCache(directory, Long.MAX_VALUE);
+    probe.put("00", result);
+    long entrySize = directorySize();
+    // room for two and a half entries, overwriting must not evict
+    var cache = new ResultCache(directory, entrySize * 5 / 2);
+    Thread.sleep(5);
+    cache.put("01", result);
+    for (int i = 0; i < 3; ++i) {
+      Thread.sleep(5);
+      cache.put("00", result);
+    }
+    assertNotNull(cache.get("00"));
+    assertNotNull(cache.get("01"));
+  }
+
+  @Test
+  void rejectsUnexpectedClasses() {
+    var result = new BoundednessSolverResult();
+    result.isBounded = false;
+    result.problemMarkings.add(new ForeignMarking(1));
+    result.problemMarkings.add(new ForeignMarking(2));
+    var cache = new ResultCache(directory, 1 << 20);
+    cache.put("00", result);
+    assertNull(cache.get("00"));
+  }
+
+  // serialized as itself, so its class is not one the cache expects
+  private static class ForeignMarking extends Marking {
+    private static final long serialVersionUID = 1L;
+
+    ForeignMarking(int... tokens) {
+      super(tokens);
+    }
+
+    @Override
+    protected Object writeReplace() {
+      return this;
+    }
+  }
+
+  private long directorySize() throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      return paths.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+    }
+  }
+
+}
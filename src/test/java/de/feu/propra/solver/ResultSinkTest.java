@@ -0,0 +1,105 @@
+package de.feu.propra.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.reachability.Marking;
+
+class ResultSinkTest {
+  List<BoundednessSolverResult> results = new ArrayList<>();
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    var bounded = new BoundednessSolverResult();
+    bounded.nodeCount = 100;
+    bounded.edgeCount = 1;
+    bounded.file = new File("first,name");
+    results.add(bounded);
+    var unbounded = new BoundednessSolverResult();
+    unbounded.isBounded = false;
+    unbounded.problemMarkings.add(new Marking(1, 2, 3));
+    unbounded.problemMarkings.add(new Marking(1, 3, Marking.OMEGA));
+    unbounded.problemPath = List.of("t1", "t2");
+    unbounded.file = new File("second\"name");
+    results.add(unbounded);
+    var cancelled = new BoundednessSolverResult();
+    cancelled.status = SolverStatus.TIME_LIMIT;
+    cancelled.isBounded = null;
+    cancelled.nodeCount = 7;
+    cancelled.file = new File("third");
+    results.add(cancelled);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void writesJsonLinePerResult() {
+    var out = new StringBuilder();
+    var sink = new JsonLinesResultSink(out);
+    results.forEach(sink::accept);
+    sink.finish();
+    var lines = out.toString().split("\n");
+    assertEquals(3, lines.length);
+    assertEquals("{\"file\":\"first,name\",\"status\":\"COMPLETE\",\"bounded\":true,\"method\":\"EXPLORATION\","
+        + "\"nodes\":100,\"edges\":1,\"path\":null,\"markings\":null,\"probabilistic\":false,\"coverage\":1.0,"
+        + "\"omissionProbability\":0.0,\"netClass\":null,\"reductions\":null,\"placeBounds\":null}", lines[0]);
+    assertEquals("{\"file\":\"second\\\"name\",\"status\":\"COMPLETE\",\"bounded\":false,\"method\":\"EXPLORATION\","
+        + "\"nodes\":0,\"edges\":0,\"path\":[\"t1\",\"t2\"],\"markings\":[\"(1|2|3)\",\"(1|3|\\u03c9)\"],"
+        + "\"probabilistic\":false,\"coverage\":1.0,\"omissionProbability\":0.0,\"netClass\":null,"
+        + "\"reductions\":null,\"placeBounds\":null}", lines[1]);
+    assertTrue(lines[2].contains("\"status\":\"TIME_LIMIT\",\"bounded\":null"));
+  }
+
+  @Test
+  void writesCsvRowPerResult() {
+    var out = new StringBuilder();
+    var sink = new CsvResultSink(out);
+    results.forEach(sink::accept);
+    sink.finish();
+    var expected = """
+        file,status,bounded,method,nodes,edges,path_length,path,m,m_prime,coverage
+        "first,name",COMPLETE,true,EXPLORATION,100,1,,,,,1.0
+        "second""name",COMPLETE,false,EXPLORATION,0,0,2,t1 t2,(1|2|3),(1|3|\u03c9),1.0
+        third,TIME_LIMIT,,EXPLORATION,7,0,,,,,1.0
+        """;
+    assertEquals(expected, out.toString());
+  }
+
+  @Test
+  void writesCsvHeaderForEmptyBatch() {
+    var out = new StringBuilder();
+    new CsvResultSink(out).finish();
+    assertEquals("file,status,bounded,method,nodes,edges,path_length,path,m,m_prime,coverage\n", out.toString());
+  }
+
+  @Test
+  void writesTableWhenFinished() {
+    var out = new StringBuilder();
+    var sink = new TableResultSink(out);
+    results.forEach(sink::accept);
+    assertEquals("", out.toString());
+    sink.finish();
+    assertEquals(new ResultsFormatter().format(results).toString(), out.toString());
+  }
+
+}
@@ -1,6 +1,7 @@
 package de.feu.propra.solver;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import de.feu.propra.petrinet.NetClass;
 import de.feu.propra.reachability.Marking;
 
 class ResultsFormatterTest {
@@ -99,4 +101,15 @@ class ResultsFormatterTest {
     assertEquals(expected, s);
   }
 
+  @Test
+  void namesNetClassInProofGerman() {
+    var r = new BoundednessSolverResult();
+    r.isBounded = true;
+    r.method = AnalysisMethod.NET_CLASS;
+    r.netClass = NetClass.MARKED_GRAPH;
+    r.file = new File("graph");
+    var s = new ResultsFormatter().format(Locale.GERMANY, List.of(r)).toString();
+    assertTrue(s.contains("Netzklasse markierter Graph"), s);
+  }
+
 }
@@ -0,0 +1,95 @@
+package de.feu.propra.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.feu.propra.petrinet.PetriNet;
+
+class SymbolicSolverTest {
+  PetriNet net;
+
+  @BeforeAll
+  static void setUpBeforeClass() throws Exception {
+  }
+
+  @AfterAll
+  static void tearDownAfterClass() throws Exception {
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // three independent branches bi0 -> ui0 -> bi1 -> ui1 -> bi2
+    net = new PetriNet();
+    for (int i = 0; i < 3; ++i) {
+      for (int j = 0; j < 3; ++j) {
+        net.addPlace("b" + i + j);
+      }
+      for (int j = 0; j < 2; ++j) {
+        net.addTransition("u" + i + j);
+        net.addArc("in" + i + j, "b" + i + j, "u" + i + j);
+        net.addArc("out" + i + j, "u" + i + j, "b" + i + (j + 1));
+      }
+      net.setInitialTokens("b" + i + "0", 1);
+    }
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+  }
+
+  @Test
+  void countsSameGraphAsExplicitSearch() {
+    var result = new SymbolicSolver(net).solve();
+    assertTrue(result.isBounded);
+    assertEquals(27, result.nodeCount);
+    assertEquals(54, result.edgeCount);
+    var explicit = new BoundednessSolver(net).solve();
+    assertEquals(explicit.nodeCount, result.nodeCount);
+    assertEquals(explicit.edgeCount, result.edgeCount);
+  }
+
+  @Test
+  void countsTokensBeyondOne() {
+    net.setInitialTokens("b00", 2);
+    var explicit = new BoundednessSolver(net).solve();
+    var result = new SymbolicSolver(net).solve();
+    assertTrue(result.isBounded);
+    assertEquals(54, result.nodeCount);
+    assertEquals(explicit.nodeCount, result.nodeCount);
+    assertEquals(explicit.edgeCount, result.edgeCount);
+  }
+
+  @Test
+  void exploresNetBeyondInitialTokenLimit() {
+    net.setInitialTokens("b00", 20);
+    var result = new SymbolicSolver(net).solve();
+    assertTrue(result.isBounded);
+    assertEquals(231 * 9, result.nodeCount);
+  }
+
+  @Test
+  void fallsBackToExplicitSearchForUnboundedNet() {
+    // u00 -> b00 is a self loop that adds a token to b01 each time
+    net.addArc("loop", "u00", "b00");
+    var result = new SymbolicSolver(net).solve();
+    assertFalse(result.isBounded);
+    assertEquals(2, result.problemMarkings.size());
+  }
+
+  @Test
+  void cancelledSolverLeavesVerdictOpen() {
+    var solver = new SymbolicSolver(net);
+    solver.cancel();
+    var result = solver.solve();
+    assertEquals(SolverStatus.CANCELLED, result.status);
+    assertNull(result.isBounded);
+  }
+}